@@ -1,5 +1,7 @@
 package com.anok.config;
 
+import com.anok.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,7 +10,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * Configuration for password encoding.
- * Uses BCrypt with configurable strength for secure password hashing.
+ * Uses BCrypt with configurable strength for secure password hashing,
+ * run on a dedicated bounded executor so hashing cannot starve request threads.
  */
 @Configuration
 public class PasswordEncoderConfig {
@@ -16,14 +19,32 @@ public class PasswordEncoderConfig {
     @Value("${security.password.bcrypt-strength:12}")
     private int bcryptStrength;
 
+    @Value("${security.password.executor.threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password.executor.queue-capacity:32}")
+    private int hashQueueCapacity;
+
+    @Value("${security.password.executor.timeout-ms:5000}")
+    private long hashTimeoutMs;
+
     /**
      * Creates a BCrypt password encoder bean.
      * Default strength is 12 (recommended for production).
+     * A thread count of 0 uses one thread per available processor.
      *
+     * @param meterRegistry registry for executor and hashing-time metrics
      * @return PasswordEncoder instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(bcryptStrength);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength),
+                threads,
+                hashQueueCapacity,
+                hashTimeoutMs,
+                meterRegistry
+        );
     }
 }
@@ -0,0 +1,100 @@
+package com.anok.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replay lag on a background thread and reports whether read-only
+ * work may be routed to it.
+ * The replica counts as unusable until the first successful check, whenever a check
+ * fails, and whenever it lags the primary by more than the configured maximum.
+ * A server that is not in recovery reports no lag, so any second instance can stand in
+ * for a replica locally.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Caught-up standbys report no lag even when the primary has been idle for a while
+    private static final String LAG_MS = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean usable;
+    private volatile double lagMs = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMs, long checkIntervalMs,
+                             MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkIntervalMs)));
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMs)
+                .baseUnit("milliseconds")
+                .description("Replay lag of the read replica; NaN when it cannot be measured")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return true if read-only transactions may use the replica
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    private void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replica.queryForObject(LAG_MS, Double.class);
+            lagMs = lag == null ? 0 : lag;
+            usable = lagMs <= maxLagMs;
+        } catch (RuntimeException e) {
+            lagMs = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica check failed, reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (wasUsable && !usable && !Double.isNaN(lagMs)) {
+            log.warn("Replica is {} ms behind, reading from the primary", (long) lagMs);
+        } else if (!wasUsable && usable) {
+            log.info("Routing read-only transactions to the replica");
+        }
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+}
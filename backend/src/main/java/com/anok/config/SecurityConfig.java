@@ -63,6 +63,8 @@ public class SecurityConfig {
                                 "/api-docs/**",          // OpenAPI docs
                                 "/v3/api-docs/**"        // OpenAPI v3 docs
                         ).permitAll()
+                        // Export holds a connection while streaming, so keep it to signed-in users
+                        .requestMatchers(HttpMethod.GET, "/events/export").authenticated()
                         .requestMatchers(HttpMethod.GET, "/events/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/uploads/**").permitAll()
 
@@ -11,6 +11,7 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -43,6 +44,8 @@ public class AuthController {
      * Login user and set JWT cookie.
      *
      * @param request login request
+     * @param servletRequest HTTP request; its remote address is the client's, resolved from
+     *                       X-Forwarded-For when the request came through a trusted proxy
      * @param response HTTP response for setting cookies
      * @return auth response with user data
      */
@@ -53,7 +56,7 @@ public class AuthController {
             HttpServletResponse response
     ) {
         // Authenticate and generate token
-        String accessToken = authenticationService.login(request);
+        String accessToken = authenticationService.login(request, servletRequest.getRemoteAddr());
 
         // Get user data
         UserDTO user = authenticationService.getCurrentUser(request.getEmail());
@@ -78,13 +81,25 @@ public class AuthController {
     }
 
     /**
-     * Logout user by clearing JWT cookie.
+     * Logout user by revoking their tokens and clearing the JWT cookie.
+     * Revocation bumps the user's token version, so tokens on other devices stop working too.
      *
+     * @param accessToken current access token cookie, if any
      * @param response HTTP response for clearing cookies
      * @return success message
      */
     @PostMapping("/logout")
-    public ResponseEntity<AuthResponse> logout(HttpServletRequest servletRequest, HttpServletResponse response) {
+    public ResponseEntity<AuthResponse> logout(
+            @CookieValue(value = "access_token", required = false) String accessToken,
+            HttpServletRequest servletRequest,
+            HttpServletResponse response
+    ) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            authenticationService.logout(authentication.getName(), accessToken);
+        }
+
         boolean secure = isSecureRequest(servletRequest);
         ResponseCookie.ResponseCookieBuilder cookieBuilder = ResponseCookie.from("access_token", "")
                 .httpOnly(true)
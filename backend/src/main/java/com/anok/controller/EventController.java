@@ -1,25 +1,68 @@
 package com.anok.controller;
 
+import com.anok.dto.EventFacetsResponse;
+import com.anok.dto.EventFilterParams;
+import com.anok.dto.EventImportRowResult;
+import com.anok.dto.EventPageResponse;
 import com.anok.dto.EventRequest;
 import com.anok.dto.EventResponse;
+import com.anok.dto.NameMatchResponse;
+import com.anok.dto.SuggestionResponse;
+import com.anok.exception.ResponseAbortedException;
+import com.anok.service.AutocompleteService;
+import com.anok.service.EventFacetService;
+import com.anok.service.EventImportService;
 import com.anok.service.EventService;
+import com.anok.service.NameLookupService;
+import com.anok.service.Versioned;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/events")
 public class EventController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
     private final EventService eventService;
+    private final EventImportService eventImportService;
+    private final EventFacetService eventFacetService;
+    private final NameLookupService nameLookupService;
+    private final AutocompleteService autocompleteService;
+    private final ObjectMapper objectMapper;
 
-    public EventController(EventService eventService) {
+    public EventController(
+            EventService eventService,
+            EventImportService eventImportService,
+            EventFacetService eventFacetService,
+            NameLookupService nameLookupService,
+            AutocompleteService autocompleteService,
+            ObjectMapper objectMapper
+    ) {
         this.eventService = eventService;
+        this.eventImportService = eventImportService;
+        this.eventFacetService = eventFacetService;
+        this.nameLookupService = nameLookupService;
+        this.autocompleteService = autocompleteService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -31,13 +74,164 @@ public class EventController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Bulk-create events from an NDJSON or CSV body.
+     * Responds with one NDJSON result line per input row, written as each chunk commits,
+     * followed by a summary line.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON, "text/csv"}, produces = NDJSON)
+    public void importEvents(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Authentication authentication
+    ) throws IOException {
+        EventImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? EventImportService.Format.CSV
+                : EventImportService.Format.NDJSON;
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        Map<String, Long> summary = eventImportService.importEvents(
+                request.getInputStream(), format, authentication.getName(), results -> {
+                    for (EventImportRowResult result : results) {
+                        writeLine(out, result);
+                    }
+                    out.flush();
+                });
+        writeLine(out, Map.of("summary", summary));
+        out.flush();
+    }
+
     @GetMapping
-    public ResponseEntity<List<EventResponse>> listEvents() {
-        return ResponseEntity.ok(eventService.listUpcomingEvents());
+    public ResponseEntity<EventPageResponse> listEvents(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            EventFilterParams filter,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditional(eventService.listUpcomingEvents(cursor, limit, filter.toFilter(), ifNoneMatch));
+    }
+
+    /**
+     * Counts per genre and per flag over the upcoming events matching the same filters as GET /events.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<EventFacetsResponse> getFacets(EventFilterParams filter) {
+        return ResponseEntity.ok(eventFacetService.getFacets(filter.toFilter()));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<EventPageResponse> searchEvents(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(eventService.searchEvents(query, cursor, limit));
+    }
+
+    /**
+     * Upcoming events within {@code radiusKm} of a point, nearest first.
+     * Accepts the same filters as GET /events.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<EventPageResponse> findNearbyEvents(
+            @RequestParam(value = "lat", required = false) Double latitude,
+            @RequestParam(value = "lng", required = false) Double longitude,
+            @RequestParam(value = "radiusKm", required = false, defaultValue = "10") Double radiusKm,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            EventFilterParams filter
+    ) {
+        return ResponseEntity.ok(eventService.findNearbyEvents(
+                latitude, longitude, radiusKm, cursor, limit, filter.toFilter()));
+    }
+
+    /**
+     * Performer and venue names similar to {@code q}, tolerant of typos.
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<List<NameMatchResponse>> lookupNames(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(nameLookupService.lookup(query, type, limit));
+    }
+
+    /**
+     * Performer or genre values starting with {@code prefix}, served from memory.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SuggestionResponse>> autocomplete(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(autocompleteService.suggest(type, prefix, limit));
+    }
+
+    /**
+     * Every upcoming event as one JSON array, written while rows are still being read.
+     * Heap use per request stays flat regardless of how many events match.
+     * Requires authentication and is limited to a few concurrent exports, since each
+     * holds a database connection until the client has read everything.
+     * An export that fails before anything was sent gets the usual error response; one
+     * that fails later is cut off with the closing bracket missing and the connection
+     * dropped, so it cannot be mistaken for a complete document.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void exportEvents(HttpServletResponse response) throws IOException {
+        try (EventService.ExportSlot slot = eventService.reserveExport()) {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+            // Otherwise closing after a failure would write the missing "]"
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            try {
+                generator.writeStartArray();
+                eventService.streamUpcomingEvents(generator::writeObject);
+                generator.writeEndArray();
+                generator.close();
+            } catch (IOException | RuntimeException e) {
+                if (response.isCommitted()) {
+                    throw new ResponseAbortedException("Event export failed after streaming started", e);
+                }
+                // Nothing has reached the client, so an error response can replace it
+                response.reset();
+                throw e;
+            }
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEvent(@PathVariable UUID id) {
-        return ResponseEntity.ok(eventService.getEvent(id));
+    public ResponseEntity<EventResponse> getEvent(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditional(eventService.getEvent(id, ifNoneMatch));
+    }
+
+    /**
+     * 304 with the tag when the client's copy is current, otherwise 200 with the body.
+     * no-cache lets clients store the response but makes them revalidate every time.
+     */
+    private static <T> ResponseEntity<T> conditional(Versioned<T> result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(result.isNotModified() ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(result.etag())
+                .cacheControl(CacheControl.noCache());
+        if (result.isStale()) {
+            // Served from the stale-read cache because the database is unavailable
+            response.header(HttpHeaders.AGE, String.valueOf(result.staleAge().toSeconds()))
+                    .header("Warning", STALE_WARNING);
+        }
+        return result.isNotModified() ? response.build() : response.body(result.body());
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
     }
 }
@@ -0,0 +1,68 @@
+package com.anok.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Facet counts over the upcoming events matching a filter.
+ * Flag counts are the number of matching events with that flag set.
+ */
+public class EventFacetsResponse {
+
+    private long total;
+    private Map<String, Long> genres = new LinkedHashMap<>();
+    private long allAges;
+    private long alcohol;
+    private long live;
+
+    public EventFacetsResponse() {
+    }
+
+    public EventFacetsResponse(long total, Map<String, Long> genres, long allAges, long alcohol, long live) {
+        this.total = total;
+        this.genres = genres;
+        this.allAges = allAges;
+        this.alcohol = alcohol;
+        this.live = live;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getGenres() {
+        return genres;
+    }
+
+    public void setGenres(Map<String, Long> genres) {
+        this.genres = genres;
+    }
+
+    public long getAllAges() {
+        return allAges;
+    }
+
+    public void setAllAges(long allAges) {
+        this.allAges = allAges;
+    }
+
+    public long getAlcohol() {
+        return alcohol;
+    }
+
+    public void setAlcohol(long alcohol) {
+        this.alcohol = alcohol;
+    }
+
+    public long getLive() {
+        return live;
+    }
+
+    public void setLive(long live) {
+        this.live = live;
+    }
+}
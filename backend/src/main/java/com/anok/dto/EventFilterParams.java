@@ -0,0 +1,102 @@
+package com.anok.dto;
+
+import com.anok.repository.EventFilter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Query parameters shared by the event listing and facet endpoints.
+ */
+public class EventFilterParams {
+
+    private String genre;
+    private Boolean allAges;
+    private Boolean alcohol;
+    private Boolean live;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private String venue;
+    private String performer;
+
+    /**
+     * Convert to a repository filter, treating blank text parameters as absent.
+     */
+    public EventFilter toFilter() {
+        return new EventFilter(
+                blankToNull(genre), allAges, alcohol, live, from, to, blankToNull(venue), blankToNull(performer));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    public Boolean getAllAges() {
+        return allAges;
+    }
+
+    public void setAllAges(Boolean allAges) {
+        this.allAges = allAges;
+    }
+
+    public Boolean getAlcohol() {
+        return alcohol;
+    }
+
+    public void setAlcohol(Boolean alcohol) {
+        this.alcohol = alcohol;
+    }
+
+    public Boolean getLive() {
+        return live;
+    }
+
+    public void setLive(Boolean live) {
+        this.live = live;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getVenue() {
+        return venue;
+    }
+
+    public void setVenue(String venue) {
+        this.venue = venue;
+    }
+
+    public String getPerformer() {
+        return performer;
+    }
+
+    public void setPerformer(String performer) {
+        this.performer = performer;
+    }
+}
@@ -0,0 +1,76 @@
+package com.anok.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a bulk event import.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventImportRowResult {
+
+    public static final String CREATED = "created";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+
+    private long row;
+    private String status;
+    private UUID id;
+    private List<String> errors;
+
+    public EventImportRowResult() {
+    }
+
+    public EventImportRowResult(long row, String status, UUID id, List<String> errors) {
+        this.row = row;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static EventImportRowResult created(long row, UUID id) {
+        return new EventImportRowResult(row, CREATED, id, null);
+    }
+
+    public static EventImportRowResult invalid(long row, List<String> errors) {
+        return new EventImportRowResult(row, INVALID, null, errors);
+    }
+
+    public static EventImportRowResult failed(long row, String error) {
+        return new EventImportRowResult(row, FAILED, null, List.of(error));
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,38 @@
+package com.anok.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of events plus the opaque cursor for the following page.
+ * {@code next} is null when there are no more results.
+ */
+public class EventPageResponse {
+
+    private List<EventResponse> items = new ArrayList<>();
+    private String next;
+
+    public EventPageResponse() {
+    }
+
+    public EventPageResponse(List<EventResponse> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<EventResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<EventResponse> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
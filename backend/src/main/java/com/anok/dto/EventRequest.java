@@ -54,6 +54,17 @@ public class EventRequest {
     @NotNull
     private Boolean alcohol;
 
+    /**
+     * Optional venue coordinates. When either is missing the venue address is geocoded instead.
+     */
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
     @Size(max = 50)
     private List<@NotBlank @Size(max = 25) String> genres = new ArrayList<>();
 
@@ -165,6 +176,22 @@ public class EventRequest {
         this.alcohol = alcohol;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public List<String> getGenres() {
         return genres;
     }
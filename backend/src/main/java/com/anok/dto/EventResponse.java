@@ -28,6 +28,8 @@ public class EventResponse {
     private String ageRestriction;
     private Boolean allAges;
     private Boolean alcohol;
+    private Double latitude;
+    private Double longitude;
     private List<String> genres = new ArrayList<>();
     private List<PerformerResponse> performers = new ArrayList<>();
     private UUID ownerId;
@@ -161,6 +163,22 @@ public class EventResponse {
         this.alcohol = alcohol;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public List<String> getGenres() {
         return genres;
     }
@@ -0,0 +1,57 @@
+package com.anok.dto;
+
+/**
+ * A performer or venue name similar to a lookup query.
+ */
+public class NameMatchResponse {
+
+    public static final String PERFORMER = "performer";
+    public static final String VENUE = "venue";
+
+    private String name;
+    private String type;
+    private float score;
+    private long events;
+
+    public NameMatchResponse() {
+    }
+
+    public NameMatchResponse(String name, String type, float score, long events) {
+        this.name = name;
+        this.type = type;
+        this.score = score;
+        this.events = events;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public void setEvents(long events) {
+        this.events = events;
+    }
+}
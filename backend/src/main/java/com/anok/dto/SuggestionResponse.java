@@ -0,0 +1,34 @@
+package com.anok.dto;
+
+/**
+ * One autocomplete suggestion and how many times the value is used.
+ */
+public class SuggestionResponse {
+
+    private String value;
+    private long count;
+
+    public SuggestionResponse() {
+    }
+
+    public SuggestionResponse(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,12 @@
+package com.anok.exception;
+
+/**
+ * A streamed response failed after its status and part of its body were already sent.
+ * The only honest signal left is to drop the connection, so this is never turned into
+ * an error body.
+ */
+public class ResponseAbortedException extends RuntimeException {
+    public ResponseAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
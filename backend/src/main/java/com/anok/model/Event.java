@@ -1,6 +1,8 @@
 package com.anok.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,6 +16,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "events")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event")
 public class Event {
 
     @Id
@@ -72,12 +75,23 @@ public class Event {
     @Column(name = "alcohol", nullable = false)
     private Boolean alcohol = false;
 
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC, createdAt ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event-genres")
     private java.util.List<EventGenre> genres = new java.util.ArrayList<>();
 
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("createdAt ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event-performers")
     private Set<EventPerformer> performers = new LinkedHashSet<>();
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -241,6 +255,30 @@ public class Event {
         this.alcohol = alcohol;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
     public java.util.List<EventGenre> getGenres() {
         return genres;
     }
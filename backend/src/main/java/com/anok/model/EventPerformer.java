@@ -3,12 +3,15 @@ package com.anok.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "event_performers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "event-performer")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class EventPerformer {
 
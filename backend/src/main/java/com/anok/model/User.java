@@ -1,6 +1,8 @@
 package com.anok.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -12,6 +14,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
 
     @Id
@@ -39,6 +42,9 @@ public class User {
     @Column(name = "locked_until")
     private LocalDateTime lockedUntil;
 
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
     @Column(name = "validated_user", nullable = false)
     private Boolean validatedUser = false;
 
@@ -52,6 +58,7 @@ public class User {
     private LocalDateTime updatedAt;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -97,6 +104,13 @@ public class User {
         this.lockedUntil = LocalDateTime.now().plusMinutes(durationMinutes);
     }
 
+    /**
+     * Invalidate every access token issued so far; they carry the previous version.
+     */
+    public void revokeTokens() {
+        this.tokenVersion++;
+    }
+
     // Getters and Setters
     public UUID getId() {
         return id;
@@ -162,6 +176,14 @@ public class User {
         this.lockedUntil = lockedUntil;
     }
 
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public Boolean getValidatedUser() {
         return validatedUser;
     }
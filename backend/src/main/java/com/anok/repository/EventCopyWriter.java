@@ -0,0 +1,119 @@
+package com.anok.repository;
+
+import com.anok.model.Event;
+import com.anok.model.EventGenre;
+import com.anok.model.EventPerformer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk writer for events using PostgreSQL COPY.
+ * Writes events, genres and performers for a chunk in one transaction with three COPY
+ * statements, instead of one INSERT per row. Bypasses the persistence context entirely.
+ */
+@Repository
+public class EventCopyWriter {
+
+    private static final String COPY_EVENTS = "COPY events (" +
+            "id, owner_id, title, description, event_datetime, event_date, flyer_url, is_live, " +
+            "start_time, event_length_hours, end_time, venue_name, venue_address, about, capacity, " +
+            "age_restriction, all_ages, alcohol, latitude, longitude, geohash, created_at, updated_at" +
+            ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String COPY_GENRES = "COPY event_genres (" +
+            "id, event_id, label, order_index, created_at" +
+            ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String COPY_PERFORMERS = "COPY event_performers (" +
+            "id, event_id, performer_name, genre1, genre2, performer_link, created_at" +
+            ") FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+
+    public EventCopyWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Assign ids and insert the given transient events with their genres and performers.
+     *
+     * @param events transient events built by EventService
+     */
+    @Transactional
+    public void copy(List<Event> events) {
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder eventRows = new StringBuilder();
+        StringBuilder genreRows = new StringBuilder();
+        StringBuilder performerRows = new StringBuilder();
+        long sequence = 0;
+
+        for (Event event : events) {
+            event.setId(UUID.randomUUID());
+            event.setCreatedAt(now);
+            event.setUpdatedAt(now);
+            row(eventRows,
+                    event.getId(), event.getOwner().getId(), event.getTitle(), event.getDescription(),
+                    event.getEventDateTime(), event.getEventDate(), event.getFlyerUrl(), event.getLive(),
+                    event.getStartTime(), event.getEventLengthHours(), event.getEndTime(),
+                    event.getVenueName(), event.getVenueAddress(), event.getAbout(), event.getCapacity(),
+                    event.getAgeRestriction(), event.getAllAges(), event.getAlcohol(),
+                    event.getLatitude(), event.getLongitude(), event.getGeohash(), now, now);
+
+            for (EventGenre genre : event.getGenres()) {
+                genre.setId(UUID.randomUUID());
+                row(genreRows, genre.getId(), event.getId(), genre.getLabel(), genre.getOrderIndex(), now);
+            }
+            for (EventPerformer performer : event.getPerformers()) {
+                performer.setId(UUID.randomUUID());
+                // Performers are listed by created_at, so keep submission order with microsecond steps
+                LocalDateTime createdAt = now.plusNanos(1_000L * sequence++);
+                row(performerRows, performer.getId(), event.getId(), performer.getPerformerName(),
+                        performer.getGenre1(), performer.getGenre2(), performer.getPerformerLink(), createdAt);
+            }
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyManager.copyIn(COPY_EVENTS, new StringReader(eventRows.toString()));
+            if (genreRows.length() > 0) {
+                copyManager.copyIn(COPY_GENRES, new StringReader(genreRows.toString()));
+            }
+            if (performerRows.length() > 0) {
+                copyManager.copyIn(COPY_PERFORMERS, new StringReader(performerRows.toString()));
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Bulk event copy failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Append one CSV record. Null is written unquoted (COPY's NULL), everything else quoted.
+     */
+    private static void row(StringBuilder out, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = values[i];
+            if (value != null) {
+                out.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        out.append('\n');
+    }
+}
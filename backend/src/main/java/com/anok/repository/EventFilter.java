@@ -0,0 +1,34 @@
+package com.anok.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Optional predicates for event listings. Null fields do not constrain the result.
+ *
+ * @param genre exact genre label
+ * @param allAges all-ages flag
+ * @param alcohol alcohol flag
+ * @param live live-music flag
+ * @param from first event date, inclusive
+ * @param to last event date, inclusive
+ * @param venue venue name, case-insensitive
+ * @param performer performer name, case-insensitive
+ */
+public record EventFilter(
+        String genre,
+        Boolean allAges,
+        Boolean alcohol,
+        Boolean live,
+        LocalDate from,
+        LocalDate to,
+        String venue,
+        String performer
+) {
+
+    public static final EventFilter NONE = new EventFilter(null, null, null, null, null, null, null, null);
+
+    public boolean isEmpty() {
+        return genre == null && allAges == null && alcohol == null && live == null
+                && from == null && to == null && venue == null && performer == null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.anok.repository;
+
+import com.anok.repository.projection.EventDistance;
+import com.anok.repository.projection.EventFacetCounts;
+import com.anok.repository.projection.EventVersion;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event queries whose SQL depends on which filters are set.
+ */
+public interface EventFilterRepository {
+
+    /**
+     * Keyset page of upcoming event ids and versions matching {@code filter},
+     * ordered by (event_datetime, id).
+     *
+     * @param filter predicates to apply
+     * @param cutoff only events starting after this instant
+     * @param afterTime event_datetime of the last row already returned
+     * @param afterId id of the last row already returned
+     * @param limit maximum number of rows to return
+     * @return id and updated_at per event, in page order
+     */
+    List<EventVersion> findFilteredVersionsAfter(
+            EventFilter filter,
+            LocalDateTime cutoff,
+            LocalDateTime afterTime,
+            UUID afterId,
+            int limit
+    );
+
+    /**
+     * Keyset page of upcoming geocoded events within {@code radiusKm} of a point, nearest first.
+     * Candidates are narrowed to the given geohash cells through idx_events_geohash, then
+     * filtered and ordered by exact haversine distance.
+     *
+     * @param filter predicates to apply
+     * @param geohashPrefixes cells covering the search circle; empty scans every geocoded event
+     * @param latitude query point latitude
+     * @param longitude query point longitude
+     * @param radiusKm search radius in km
+     * @param cutoff only events starting after this instant
+     * @param afterDistance distance of the last row already returned, or negative for the first page
+     * @param afterId id of the last row already returned
+     * @param limit maximum number of rows to return
+     * @return ids and distances ordered by (distance, id)
+     */
+    List<EventDistance> findNearby(
+            EventFilter filter,
+            Collection<String> geohashPrefixes,
+            double latitude,
+            double longitude,
+            double radiusKm,
+            LocalDateTime cutoff,
+            double afterDistance,
+            UUID afterId,
+            int limit
+    );
+
+    /**
+     * Total, per-flag and per-genre counts over the upcoming events matching {@code filter}.
+     *
+     * @param filter predicates to apply
+     * @param cutoff only events starting after this instant
+     * @return facet counts
+     */
+    EventFacetCounts countFacets(EventFilter filter, LocalDateTime cutoff);
+}
@@ -0,0 +1,204 @@
+package com.anok.repository;
+
+import com.anok.repository.projection.EventDistance;
+import com.anok.repository.projection.EventFacetCounts;
+import com.anok.repository.projection.EventVersion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Native implementation of {@link EventFilterRepository}.
+ * Only the predicates for set filters are rendered, so the planner sees a query it can
+ * match against the narrowest index instead of a chain of "(:x IS NULL OR ...)" terms.
+ * Read-only like the derived repository queries, so it can be served by the replica.
+ */
+@Transactional(readOnly = true)
+class EventFilterRepositoryImpl implements EventFilterRepository {
+
+    /**
+     * Haversine distance in km from (:lat, :lng) to the event venue.
+     */
+    private static final String DISTANCE_KM = "2 * 6371.0088 * asin(least(1, sqrt(" +
+            "power(sin(radians(e.latitude - :lat) / 2), 2) + " +
+            "cos(radians(:lat)) * cos(radians(e.latitude)) * " +
+            "power(sin(radians(e.longitude - :lng) / 2), 2))))";
+
+    /**
+     * Sorts after every base32 geohash character, so [prefix, prefix || '~') is the cell.
+     */
+    private static final String GEOHASH_UPPER_SUFFIX = "~";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EventVersion> findFilteredVersionsAfter(
+            EventFilter filter,
+            LocalDateTime cutoff,
+            LocalDateTime afterTime,
+            UUID afterId,
+            int limit
+    ) {
+        StringBuilder sql = new StringBuilder("SELECT e.id, e.updated_at FROM events e " +
+                "WHERE e.event_datetime > :cutoff " +
+                "AND (e.event_datetime, e.id) > (:afterTime, :afterId)");
+        Map<String, Object> params = new HashMap<>();
+        params.put("cutoff", cutoff);
+        params.put("afterTime", afterTime);
+        params.put("afterId", afterId);
+        EventFilterSql.append(sql, params, filter);
+        sql.append(" ORDER BY e.event_datetime ASC, e.id ASC LIMIT :limit");
+        params.put("limit", limit);
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("updated_at", LocalDateTime.class);
+        params.forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(row -> new Version((UUID) row[0], (LocalDateTime) row[1]))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<EventDistance> findNearby(
+            EventFilter filter,
+            Collection<String> geohashPrefixes,
+            double latitude,
+            double longitude,
+            double radiusKm,
+            LocalDateTime cutoff,
+            double afterDistance,
+            UUID afterId,
+            int limit
+    ) {
+        StringBuilder sql = new StringBuilder("SELECT n.id, n.distance_km FROM (" +
+                "SELECT e.id, " + DISTANCE_KM + " AS distance_km FROM events e " +
+                "WHERE e.event_datetime > :cutoff AND e.geohash IS NOT NULL");
+        Map<String, Object> params = new HashMap<>();
+        params.put("cutoff", cutoff);
+        params.put("lat", latitude);
+        params.put("lng", longitude);
+
+        if (!geohashPrefixes.isEmpty()) {
+            sql.append(" AND (");
+            int i = 0;
+            for (String prefix : geohashPrefixes) {
+                if (i > 0) {
+                    sql.append(" OR ");
+                }
+                sql.append("(e.geohash >= :cellLow").append(i)
+                        .append(" AND e.geohash < :cellHigh").append(i).append(')');
+                params.put("cellLow" + i, prefix);
+                params.put("cellHigh" + i, prefix + GEOHASH_UPPER_SUFFIX);
+                i++;
+            }
+            sql.append(')');
+        }
+        EventFilterSql.append(sql, params, filter);
+
+        sql.append(") n WHERE n.distance_km <= :radius " +
+                "AND (n.distance_km > :afterDistance OR (n.distance_km = :afterDistance AND n.id > :afterId)) " +
+                "ORDER BY n.distance_km ASC, n.id ASC LIMIT :limit");
+        params.put("radius", radiusKm);
+        params.put("afterDistance", afterDistance);
+        params.put("afterId", afterId);
+        params.put("limit", limit);
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("distance_km", Double.class);
+        params.forEach(query::setParameter);
+
+        return query.getResultList().stream()
+                .map(row -> new EventDistance((UUID) row[0], (Double) row[1]))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The filtered set is materialized once and read twice: once for the totals row,
+     * identified by its null label, and once joined to event_genres for the label counts.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public EventFacetCounts countFacets(EventFilter filter, LocalDateTime cutoff) {
+        StringBuilder sql = new StringBuilder("WITH filtered AS MATERIALIZED (" +
+                "SELECT e.id, e.all_ages, e.alcohol, e.is_live FROM events e " +
+                "WHERE e.event_datetime > :cutoff");
+        Map<String, Object> params = new HashMap<>();
+        params.put("cutoff", cutoff);
+        EventFilterSql.append(sql, params, filter);
+        sql.append(") " +
+                "SELECT NULL AS label, count(*) AS total, " +
+                "count(*) FILTER (WHERE f.all_ages) AS all_ages, " +
+                "count(*) FILTER (WHERE f.alcohol) AS alcohol, " +
+                "count(*) FILTER (WHERE f.is_live) AS live " +
+                "FROM filtered f " +
+                "UNION ALL " +
+                "SELECT g.label, count(DISTINCT g.event_id), 0, 0, 0 " +
+                "FROM filtered f JOIN event_genres g ON g.event_id = f.id " +
+                "GROUP BY g.label");
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql.toString())
+                .unwrap(NativeQuery.class)
+                .addScalar("label", String.class)
+                .addScalar("total", Long.class)
+                .addScalar("all_ages", Long.class)
+                .addScalar("alcohol", Long.class)
+                .addScalar("live", Long.class);
+        params.forEach(query::setParameter);
+
+        long total = 0;
+        long allAges = 0;
+        long alcohol = 0;
+        long live = 0;
+        List<Object[]> genreRows = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            if (row[0] == null) {
+                total = (Long) row[1];
+                allAges = (Long) row[2];
+                alcohol = (Long) row[3];
+                live = (Long) row[4];
+            } else {
+                genreRows.add(row);
+            }
+        }
+        genreRows.sort(Comparator.comparing((Object[] row) -> (Long) row[1]).reversed()
+                .thenComparing(row -> (String) row[0]));
+        Map<String, Long> genres = new LinkedHashMap<>();
+        for (Object[] row : genreRows) {
+            genres.put((String) row[0], (Long) row[1]);
+        }
+        return new EventFacetCounts(total, allAges, alcohol, live, genres);
+    }
+
+    private record Version(UUID id, LocalDateTime updatedAt) implements EventVersion {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.anok.repository;
+
+import java.util.Map;
+
+/**
+ * Renders an {@link EventFilter} as native SQL predicates over {@code events e}.
+ * Genre and performer filters are EXISTS subqueries, so an event matches at most once
+ * and no DISTINCT is needed. Each predicate lines up with an index from V13.
+ */
+final class EventFilterSql {
+
+    private EventFilterSql() {
+    }
+
+    /**
+     * Append one {@code AND ...} clause per set field of {@code filter}.
+     *
+     * @param sql query being built; must already contain a WHERE clause
+     * @param params named parameters, filled in for each appended clause
+     * @param filter filter to render
+     */
+    static void append(StringBuilder sql, Map<String, Object> params, EventFilter filter) {
+        if (filter.live() != null) {
+            sql.append(" AND e.is_live = :live");
+            params.put("live", filter.live());
+        }
+        if (filter.allAges() != null) {
+            sql.append(" AND e.all_ages = :allAges");
+            params.put("allAges", filter.allAges());
+        }
+        if (filter.alcohol() != null) {
+            sql.append(" AND e.alcohol = :alcohol");
+            params.put("alcohol", filter.alcohol());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND e.event_datetime >= :fromTime");
+            params.put("fromTime", filter.from().atStartOfDay());
+        }
+        if (filter.to() != null) {
+            sql.append(" AND e.event_datetime < :toTime");
+            params.put("toTime", filter.to().plusDays(1).atStartOfDay());
+        }
+        if (filter.venue() != null) {
+            sql.append(" AND lower(e.venue_name) = lower(:venue)");
+            params.put("venue", filter.venue());
+        }
+        if (filter.genre() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM event_genres g WHERE g.event_id = e.id AND g.label = :genre)");
+            params.put("genre", filter.genre());
+        }
+        if (filter.performer() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM event_performers p WHERE p.event_id = e.id " +
+                    "AND lower(p.performer_name) = lower(:performer))");
+            params.put("performer", filter.performer());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.anok.repository;
+
+import com.anok.model.EventGenre;
+import com.anok.repository.projection.EventGenreView;
+import com.anok.repository.projection.TermCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for event genre rows.
+ */
+@Repository
+public interface EventGenreRepository extends JpaRepository<EventGenre, UUID> {
+
+    /**
+     * Genre labels for a set of events, in display order.
+     *
+     * @param eventIds event ids
+     * @return unmanaged genre views
+     */
+    @Query("SELECT new com.anok.repository.projection.EventGenreView(g.event.id, g.label, g.orderIndex) " +
+            "FROM EventGenre g WHERE g.event.id IN :eventIds " +
+            "ORDER BY g.orderIndex ASC, g.createdAt ASC")
+    List<EventGenreView> findViewsByEventIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * Every distinct genre label with its usage count.
+     */
+    @Query("SELECT new com.anok.repository.projection.TermCount(g.label, COUNT(g)) " +
+            "FROM EventGenre g GROUP BY g.label")
+    List<TermCount> countLabels();
+}
@@ -0,0 +1,72 @@
+package com.anok.repository;
+
+import com.anok.model.EventPerformer;
+import com.anok.repository.projection.EventPerformerView;
+import com.anok.repository.projection.NameMatch;
+import com.anok.repository.projection.TermCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for event performer rows.
+ */
+@Repository
+public interface EventPerformerRepository extends JpaRepository<EventPerformer, UUID> {
+
+    /**
+     * Performers for a set of events, in creation order.
+     *
+     * @param eventIds event ids
+     * @return unmanaged performer views
+     */
+    @Query("SELECT new com.anok.repository.projection.EventPerformerView(" +
+            "p.event.id, p.id, p.performerName, p.genre1, p.genre2, p.performerLink) " +
+            "FROM EventPerformer p WHERE p.event.id IN :eventIds " +
+            "ORDER BY p.createdAt ASC")
+    List<EventPerformerView> findViewsByEventIdIn(@Param("eventIds") Collection<UUID> eventIds);
+
+    /**
+     * Every distinct performer name with its usage count.
+     */
+    @Query("SELECT new com.anok.repository.projection.TermCount(p.performerName, COUNT(p)) " +
+            "FROM EventPerformer p GROUP BY p.performerName")
+    List<TermCount> countPerformerNames();
+
+    /**
+     * Every distinct performer genre1 value with its usage count.
+     */
+    @Query("SELECT new com.anok.repository.projection.TermCount(p.genre1, COUNT(p)) " +
+            "FROM EventPerformer p WHERE p.genre1 IS NOT NULL GROUP BY p.genre1")
+    List<TermCount> countGenre1();
+
+    /**
+     * Every distinct performer genre2 value with its usage count.
+     */
+    @Query("SELECT new com.anok.repository.projection.TermCount(p.genre2, COUNT(p)) " +
+            "FROM EventPerformer p WHERE p.genre2 IS NOT NULL GROUP BY p.genre2")
+    List<TermCount> countGenre2();
+
+    /**
+     * Distinct performer names similar to {@code query}, most similar first.
+     * Candidates come from idx_event_performers_name_trgm via the {@code %} operator,
+     * so only names above pg_trgm.similarity_threshold are scored.
+     *
+     * @param query possibly misspelled name
+     * @param limit maximum number of names
+     * @return matches ranked by similarity, then by how many events use the name
+     */
+    @Query(value = "SELECT p.performer_name AS \"name\", " +
+            "similarity(p.performer_name, :query) AS \"score\", " +
+            "count(DISTINCT p.event_id) AS \"events\" " +
+            "FROM event_performers p WHERE p.performer_name % :query " +
+            "GROUP BY p.performer_name " +
+            "ORDER BY 2 DESC, 3 DESC, 1 ASC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<NameMatch> findSimilarNames(@Param("query") String query, @Param("limit") int limit);
+}
@@ -1,24 +1,128 @@
 package com.anok.repository;
 
 import com.anok.model.Event;
+import com.anok.repository.projection.EventListView;
+import com.anok.repository.projection.EventSearchHit;
+import com.anok.repository.projection.EventVersion;
+import com.anok.repository.projection.NameMatch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, EventFilterRepository {
 
-    @EntityGraph(attributePaths = {"owner", "genres", "performers"})
-    List<Event> findAllByEventDateTimeAfterOrderByEventDateTimeAsc(LocalDateTime cutoff);
-
-    @EntityGraph(attributePaths = {"owner", "genres", "performers"})
+    @EntityGraph(attributePaths = {"owner"})
     List<Event> findAllByOrderByEventDateTimeAsc();
 
-    @EntityGraph(attributePaths = {"owner", "genres", "performers"})
-    Optional<Event> findById(UUID id);
+    /**
+     * Keyset page of upcoming event ids and versions ordered by (event_datetime, id).
+     * Served from idx_events_datetime_id, so cost depends on the page size, not the offset.
+     *
+     * @param cutoff only events starting after this instant
+     * @param afterTime event_datetime of the last row already returned
+     * @param afterId id of the last row already returned
+     * @param limit maximum number of rows to return
+     * @return id and updated_at per event, in page order
+     */
+    @Query(value = "SELECT e.id AS \"id\", e.updated_at AS \"updatedAt\" FROM events e " +
+            "WHERE e.event_datetime > :cutoff " +
+            "AND (e.event_datetime, e.id) > (:afterTime, :afterId) " +
+            "ORDER BY e.event_datetime ASC, e.id ASC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<EventVersion> findUpcomingVersionsAfter(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Keyset page of upcoming events matching a web-style search query, best match first.
+     * Matching uses idx_events_search_vector (GIN); only matching rows are ranked.
+     *
+     * @param query user search text, parsed with websearch_to_tsquery
+     * @param cutoff only events starting after this instant
+     * @param afterRank rank of the last hit already returned
+     * @param afterId id of the last hit already returned
+     * @param limit maximum number of hits to return
+     * @return hits ordered by (rank DESC, id ASC)
+     */
+    @Query(value = "SELECT h.id AS \"id\", h.rank AS \"rank\" FROM (" +
+            "SELECT e.id, ts_rank(e.search_vector, q.query) AS rank " +
+            "FROM events e CROSS JOIN websearch_to_tsquery('english', :query) AS q(query) " +
+            "WHERE e.search_vector @@ q.query AND e.event_datetime > :cutoff" +
+            ") h " +
+            "WHERE h.rank < :afterRank OR (h.rank = :afterRank AND h.id > :afterId) " +
+            "ORDER BY h.rank DESC, h.id ASC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<EventSearchHit> searchUpcoming(
+            @Param("query") String query,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterRank") float afterRank,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Distinct venue names similar to {@code query}, most similar first.
+     * Candidates come from idx_events_venue_name_trgm via the {@code %} operator.
+     *
+     * @param query possibly misspelled venue name
+     * @param limit maximum number of names
+     * @return matches ranked by similarity, then by how many events use the venue
+     */
+    @Query(value = "SELECT e.venue_name AS \"name\", " +
+            "similarity(e.venue_name, :query) AS \"score\", " +
+            "count(*) AS \"events\" " +
+            "FROM events e WHERE e.venue_name % :query " +
+            "GROUP BY e.venue_name " +
+            "ORDER BY 2 DESC, 3 DESC, 1 ASC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<NameMatch> findSimilarVenueNames(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Listing rows for the given events, selected straight into unmanaged views.
+     * Skips description and timestamps and bypasses entity hydration and dirty checking.
+     *
+     * @param ids event ids
+     * @return one view per event, in no particular order
+     */
+    @Query("SELECT new com.anok.repository.projection.EventListView(" +
+            "e.id, e.title, e.flyerUrl, e.eventDate, e.startTime, e.eventLengthHours, e.endTime, " +
+            "e.isLive, e.eventDateTime, e.venueName, e.venueAddress, e.about, e.capacity, " +
+            "e.ageRestriction, e.allAges, e.alcohol, e.latitude, e.longitude, o.id, o.fullName) " +
+            "FROM Event e JOIN e.owner o WHERE e.id IN :ids")
+    List<EventListView> findListViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Forward-only stream of listing rows for every upcoming event.
+     * Read through a server-side cursor in fetch-size batches; must be consumed and
+     * closed inside a read-only transaction.
+     *
+     * @param cutoff only events starting after this instant
+     * @return views ordered by (event_datetime, id)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.anok.repository.projection.EventListView(" +
+            "e.id, e.title, e.flyerUrl, e.eventDate, e.startTime, e.eventLengthHours, e.endTime, " +
+            "e.isLive, e.eventDateTime, e.venueName, e.venueAddress, e.about, e.capacity, " +
+            "e.ageRestriction, e.allAges, e.alcohol, e.latitude, e.longitude, o.id, o.fullName) " +
+            "FROM Event e JOIN e.owner o WHERE e.eventDateTime > :cutoff " +
+            "ORDER BY e.eventDateTime ASC, e.id ASC")
+    Stream<EventListView> streamUpcomingViews(@Param("cutoff") LocalDateTime cutoff);
 }
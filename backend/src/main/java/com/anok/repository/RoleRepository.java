@@ -1,7 +1,10 @@
 package com.anok.repository;
 
 import com.anok.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,11 +17,15 @@ import java.util.Optional;
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
     /**
-     * Find a role by its name.
+     * Find a role by its name. Served from the query cache after the first call.
      *
      * @param name the role name (e.g., "ROLE_USER")
      * @return Optional containing the role if found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role-by-name")
+    })
     Optional<Role> findByName(String name);
 
     /**
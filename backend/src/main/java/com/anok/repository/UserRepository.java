@@ -1,10 +1,12 @@
 package com.anok.repository;
 
 import com.anok.model.User;
+import com.anok.repository.projection.UserTokenState;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -47,10 +49,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     /**
      * Find a user by email with roles eagerly fetched.
      * Useful for authentication to avoid N+1 queries.
+     * Runs in a read-write transaction so it is always answered by the primary.
      *
      * @param emailNormalized the normalized email address
      * @return Optional containing the user with roles if found
      */
+    @Transactional
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.emailNormalized = :emailNormalized")
     Optional<User> findByEmailNormalizedWithRoles(@Param("emailNormalized") String emailNormalized);
+
+    /**
+     * Load only the fields needed to accept a stateless access token.
+     * Runs in a read-write transaction so a revoked token or new lock is seen on the
+     * primary as soon as it is committed, not after the replica catches up.
+     *
+     * @param id user id
+     * @return Optional containing the token state if the user exists
+     */
+    @Transactional
+    @Query("SELECT new com.anok.repository.projection.UserTokenState(u.tokenVersion, u.isActive, u.lockedUntil) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<UserTokenState> findTokenStateById(@Param("id") UUID id);
 }
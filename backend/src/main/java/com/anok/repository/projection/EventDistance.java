@@ -0,0 +1,9 @@
+package com.anok.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * An event id and its great-circle distance from a query point, in km.
+ */
+public record EventDistance(UUID id, double distanceKm) {
+}
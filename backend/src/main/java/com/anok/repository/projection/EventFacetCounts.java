@@ -0,0 +1,15 @@
+package com.anok.repository.projection;
+
+import java.util.Map;
+
+/**
+ * Aggregates over a filtered set of events.
+ *
+ * @param total matching events
+ * @param allAges matching events that are all ages
+ * @param alcohol matching events that serve alcohol
+ * @param live matching events with live music
+ * @param genres matching events per genre label, most common first
+ */
+public record EventFacetCounts(long total, long allAges, long alcohol, long live, Map<String, Long> genres) {
+}
@@ -0,0 +1,9 @@
+package com.anok.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only genre label keyed by its event.
+ */
+public record EventGenreView(UUID eventId, String label, Integer orderIndex) {
+}
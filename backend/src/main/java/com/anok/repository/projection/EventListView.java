@@ -0,0 +1,34 @@
+package com.anok.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Read-only row for event listings, selected with a JPQL constructor expression.
+ * Carries only the columns EventResponse needs; never attached to the persistence context.
+ */
+public record EventListView(
+        UUID id,
+        String title,
+        String flyerUrl,
+        LocalDate eventDate,
+        LocalTime startTime,
+        Integer eventLengthHours,
+        LocalTime endTime,
+        Boolean live,
+        LocalDateTime eventDateTime,
+        String venueName,
+        String venueAddress,
+        String about,
+        Integer capacity,
+        String ageRestriction,
+        Boolean allAges,
+        Boolean alcohol,
+        Double latitude,
+        Double longitude,
+        UUID ownerId,
+        String ownerName
+) {
+}
@@ -0,0 +1,16 @@
+package com.anok.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only performer row keyed by its event.
+ */
+public record EventPerformerView(
+        UUID eventId,
+        UUID id,
+        String performerName,
+        String genre1,
+        String genre2,
+        String performerLink
+) {
+}
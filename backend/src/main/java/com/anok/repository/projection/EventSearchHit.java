@@ -0,0 +1,14 @@
+package com.anok.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * One full-text match and its relevance score.
+ * Interface-based because it is read by a native query.
+ */
+public interface EventSearchHit {
+
+    UUID getId();
+
+    Float getRank();
+}
@@ -0,0 +1,15 @@
+package com.anok.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Id and last-modified time of an event, enough to tell whether a cached copy is current.
+ * Interface-based because it is read by a native keyset query.
+ */
+public interface EventVersion {
+
+    UUID getId();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,20 @@
+package com.anok.repository.projection;
+
+/**
+ * A distinct name similar to a lookup query.
+ * Interface-based because it is read by a native query.
+ */
+public interface NameMatch {
+
+    String getName();
+
+    /**
+     * pg_trgm similarity to the query, from 0 to 1.
+     */
+    Float getScore();
+
+    /**
+     * Number of events using this name.
+     */
+    Long getEvents();
+}
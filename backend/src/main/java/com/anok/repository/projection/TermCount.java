@@ -0,0 +1,7 @@
+package com.anok.repository.projection;
+
+/**
+ * A distinct text value and how many rows use it.
+ */
+public record TermCount(String term, long count) {
+}
@@ -0,0 +1,22 @@
+package com.anok.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal user state needed to accept a stateless access token.
+ */
+public record UserTokenState(Integer tokenVersion, Boolean active, LocalDateTime lockedUntil) {
+
+    /**
+     * Whether a token issued with {@code version} is still acceptable.
+     *
+     * @param version token version claim
+     * @return true if the user is active, not locked and the version is current
+     */
+    public boolean accepts(Integer version) {
+        return Boolean.TRUE.equals(active)
+                && (lockedUntil == null || !lockedUntil.isAfter(LocalDateTime.now()))
+                && tokenVersion != null
+                && tokenVersion.equals(version);
+    }
+}
@@ -1,6 +1,7 @@
 package com.anok.security;
 
 import com.anok.service.JwtService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +21,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.UUID;
 
 /**
  * JWT Authentication Filter that intercepts requests to validate JWT tokens.
@@ -33,6 +36,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Value("${security.jwt.stateless:true}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -50,16 +59,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            // Extract username from JWT
-            String userEmail = jwtService.extractUsername(jwt);
+            // Verify signature and expiration once, then work from the claims
+            Claims claims = jwtService.verify(jwt);
+            String userEmail = claims.getSubject();
 
             // If user is not already authenticated
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UUID userId = jwtService.extractUserId(claims);
+                UserDetails userDetails;
+                if (stateless && userId != null) {
+                    // Build the principal from the token; revocation and lock come from memory
+                    if (!tokenVersionRegistry.isAccepted(userId, jwtService.extractTokenVersion(claims))) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        response.getWriter().write("{\"error\":\"Token revoked\"}");
+                        response.setContentType("application/json");
+                        return;
+                    }
+                    userDetails = jwtService.toPrincipal(claims);
+                } else {
+                    // Tokens issued before user ids were embedded still load the user
+                    userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                }
 
                 // Validate token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
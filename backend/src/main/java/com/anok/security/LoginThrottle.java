@@ -0,0 +1,185 @@
+package com.anok.security;
+
+import com.anok.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory login throttle: token buckets per client IP and per normalized email,
+ * plus a failed-attempt counter per email.
+ * Buckets are split across lock stripes so concurrent logins for different keys rarely
+ * contend, and each stripe keeps a bounded LRU map so memory stays flat under a
+ * credential-stuffing burst. Checked before any password hashing or database access.
+ * Failure counters live in one cache that expires them after the failure window and has
+ * a bound far above any normal number of accounts being attacked, so failing logins for
+ * many other emails cannot evict a victim's counter before it reaches the lockout.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Stripe[] stripes;
+    private final BucketSpec ipSpec;
+    private final BucketSpec emailSpec;
+    private final long failureWindowNanos;
+    private final Cache<String, Failures> failures;
+
+    public LoginThrottle(
+            @Value("${security.login-throttle.stripes:64}") int stripeCount,
+            @Value("${security.login-throttle.max-keys-per-stripe:1024}") int maxKeysPerStripe,
+            @Value("${security.login-throttle.ip.capacity:20}") int ipCapacity,
+            @Value("${security.login-throttle.ip.refill-per-minute:20}") double ipRefillPerMinute,
+            @Value("${security.login-throttle.email.capacity:10}") int emailCapacity,
+            @Value("${security.login-throttle.email.refill-per-minute:5}") double emailRefillPerMinute,
+            @Value("${security.login-throttle.failure-window-minutes:30}") long failureWindowMinutes,
+            @Value("${security.login-throttle.max-failure-keys:1000000}") long maxFailureKeys
+    ) {
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(i, maxKeysPerStripe);
+        }
+        this.ipSpec = new BucketSpec(ipCapacity, ipRefillPerMinute / TimeUnit.MINUTES.toNanos(1));
+        this.emailSpec = new BucketSpec(emailCapacity, emailRefillPerMinute / TimeUnit.MINUTES.toNanos(1));
+        this.failureWindowNanos = TimeUnit.MINUTES.toNanos(failureWindowMinutes);
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxFailureKeys)
+                .expireAfterWrite(Duration.ofNanos(failureWindowNanos))
+                .build();
+    }
+
+    /**
+     * Take one token from both the IP and the email bucket.
+     * Tokens are only taken when both buckets have one, so a request rejected by one
+     * bucket does not drain the other.
+     *
+     * @param clientIp client address
+     * @param email normalized email
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void acquire(String clientIp, String email) {
+        long now = System.nanoTime();
+        String ipKey = "ip:" + clientIp;
+        String emailKey = "email:" + email;
+        Stripe ipStripe = stripeFor(ipKey);
+        Stripe emailStripe = stripeFor(emailKey);
+        // Lock both stripes in index order so concurrent logins cannot deadlock
+        Stripe first = ipStripe.index <= emailStripe.index ? ipStripe : emailStripe;
+        Stripe second = first == ipStripe ? emailStripe : ipStripe;
+
+        long waitNanos;
+        first.lock.lock();
+        if (second != first) {
+            second.lock.lock();
+        }
+        try {
+            Bucket ipBucket = refill(ipStripe, ipKey, ipSpec, now);
+            Bucket emailBucket = refill(emailStripe, emailKey, emailSpec, now);
+            waitNanos = Math.max(waitNanos(ipBucket, ipSpec), waitNanos(emailBucket, emailSpec));
+            if (waitNanos == 0) {
+                ipBucket.tokens -= 1;
+                emailBucket.tokens -= 1;
+            }
+        } finally {
+            if (second != first) {
+                second.lock.unlock();
+            }
+            first.lock.unlock();
+        }
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos));
+            throw new TooManyRequestsException("Too many login attempts. Please try again later.", retryAfter);
+        }
+    }
+
+    /**
+     * Count a failed attempt for an email.
+     *
+     * @param email normalized email
+     * @return consecutive failures within the failure window, including this one
+     */
+    public int recordFailure(String email) {
+        long now = System.nanoTime();
+        return failures.asMap().compute(email, (key, previous) ->
+                previous == null || now - previous.firstNanos() > failureWindowNanos
+                        ? new Failures(now, 1)
+                        : new Failures(previous.firstNanos(), previous.count() + 1)
+        ).count();
+    }
+
+    /**
+     * Forget the failed attempts of an email.
+     *
+     * @param email normalized email
+     */
+    public void clearFailures(String email) {
+        failures.invalidate(email);
+    }
+
+    /**
+     * Bring a bucket up to date, creating it full if it does not exist.
+     * Caller holds the stripe lock.
+     */
+    private Bucket refill(Stripe stripe, String key, BucketSpec spec, long now) {
+        Bucket bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(spec.capacity, now);
+            stripe.buckets.put(key, bucket);
+        }
+        bucket.tokens = Math.min(spec.capacity, bucket.tokens + (now - bucket.lastNanos) * spec.tokensPerNano);
+        bucket.lastNanos = now;
+        return bucket;
+    }
+
+    /**
+     * @return 0 if the bucket holds a token, otherwise nanoseconds until it will
+     */
+    private static long waitNanos(Bucket bucket, BucketSpec spec) {
+        if (bucket.tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - bucket.tokens) / spec.tokensPerNano);
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private record BucketSpec(double capacity, double tokensPerNano) {
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastNanos;
+
+        private Bucket(double tokens, long lastNanos) {
+            this.tokens = tokens;
+            this.lastNanos = lastNanos;
+        }
+    }
+
+    private record Failures(long firstNanos, int count) {
+    }
+
+    private static final class Stripe {
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int index, int maxKeys) {
+            this.index = index;
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+}
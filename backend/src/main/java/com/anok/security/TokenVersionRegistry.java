@@ -0,0 +1,71 @@
+package com.anok.security;
+
+import com.anok.repository.UserRepository;
+import com.anok.repository.projection.UserTokenState;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory view of each user's token version, active flag and lock.
+ * Lets stateless access tokens be revoked or blocked without a per-request query:
+ * the state is loaded once per user and refreshed after the configured TTL, or
+ * immediately when {@link #invalidate(UUID)} is called after a change on any node.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final LoadingCache<UUID, Optional<UserTokenState>> states;
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.jwt.token-state.max-size:50000}") long maxSize,
+            @Value("${security.jwt.token-state.ttl-ms:60000}") long ttlMs
+    ) {
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build(userRepository::findTokenStateById);
+        CaffeineCacheMetrics.monitor(meterRegistry, states, "jwt.token-state");
+    }
+
+    /**
+     * Check whether a token issued to {@code userId} with {@code tokenVersion} is still acceptable.
+     *
+     * @param userId user id claim
+     * @param tokenVersion token version claim
+     * @return true if the user exists, is active, is not locked and the version is current
+     */
+    public boolean isAccepted(UUID userId, Integer tokenVersion) {
+        return states.get(userId)
+                .map(state -> state.accepts(tokenVersion))
+                .orElse(false);
+    }
+
+    /**
+     * Forget the cached state of a user so the next request reloads it.
+     *
+     * @param userId user id
+     */
+    public void invalidate(UUID userId) {
+        if (userId != null) {
+            states.invalidate(userId);
+        }
+    }
+
+    /**
+     * Forget the cached state of every user.
+     */
+    public void invalidateAll() {
+        states.invalidateAll();
+    }
+}
@@ -9,6 +9,8 @@ import com.anok.model.Role;
 import com.anok.model.User;
 import com.anok.repository.RoleRepository;
 import com.anok.repository.UserRepository;
+import com.anok.security.LoginThrottle;
+import com.anok.security.TokenVersionRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -25,6 +27,10 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AuthenticationService {
 
+    private static final int LOCKOUT_THRESHOLD = 5;
+
+    private static final int LOCKOUT_MINUTES = 30;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -40,6 +46,18 @@ public class AuthenticationService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private CachingUserDetailsService userDetailsCache;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     /**
      * Register a new user.
      *
@@ -67,17 +85,24 @@ public class AuthenticationService {
 
         // Save user
         User savedUser = userRepository.save(user);
+        userDetailsCache.evict(savedUser.getEmail());
 
         return UserDTO.fromUser(savedUser);
     }
 
     /**
      * Authenticate user and generate JWT tokens.
+     * Throttled per client IP and email before any password hashing; failed attempts are
+     * counted in memory and only the transition into a lockout is written to the database.
      *
      * @param request login request
+     * @param clientIp client address used for throttling
      * @return JWT access token
      */
-    public String login(LoginRequest request) {
+    public String login(LoginRequest request, String clientIp) {
+        String email = request.getEmail().toLowerCase();
+        loginThrottle.acquire(clientIp, email);
+
         try {
             // Authenticate using Spring Security
             Authentication authentication = authenticationManager.authenticate(
@@ -90,34 +115,66 @@ public class AuthenticationService {
             // Get user details
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
-            // Generate access token
-            String accessToken = jwtService.generateAccessToken(userDetails);
+            User user = userRepository.findByEmailNormalized(email)
+                    .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
+
+            // Generate access token carrying the user id and token version
+            String accessToken = jwtService.generateAccessToken(userDetails, user.getId(), user.getTokenVersion());
 
-            // Reset failed login attempts on successful login
-            userRepository.findByEmailNormalized(request.getEmail().toLowerCase())
-                    .ifPresent(user -> {
-                        user.resetFailedAttempts();
-                        userRepository.save(user);
-                    });
+            // Reset failed login attempts on successful login, writing only if something changes
+            loginThrottle.clearFailures(email);
+            if (user.getFailedLoginAttempts() > 0 || user.getLockedUntil() != null) {
+                user.resetFailedAttempts();
+                userRepository.save(user);
+                userDetailsCache.evict(user.getEmail());
+                tokenVersionRegistry.invalidate(user.getId());
+                cacheInvalidationBus.publishUserChanged(user.getId(), user.getEmail());
+            }
 
             return accessToken;
 
         } catch (BadCredentialsException e) {
-            // Handle failed login attempt
-            userRepository.findByEmailNormalized(request.getEmail().toLowerCase())
-                    .ifPresent(user -> {
-                        user.incrementFailedAttempts();
-                        // Lock account after 5 failed attempts
-                        if (user.getFailedLoginAttempts() >= 5) {
-                            user.lockAccount(30); // Lock for 30 minutes
-                        }
-                        userRepository.save(user);
-                    });
+            // Handle failed login attempt; persist only when crossing the lockout threshold
+            int failures = loginThrottle.recordFailure(email);
+            if (failures >= LOCKOUT_THRESHOLD) {
+                loginThrottle.clearFailures(email);
+                userRepository.findByEmailNormalized(email)
+                        .ifPresent(user -> {
+                            user.setFailedLoginAttempts(failures);
+                            user.lockAccount(LOCKOUT_MINUTES);
+                            userRepository.save(user);
+                            userDetailsCache.evict(user.getEmail());
+                            tokenVersionRegistry.invalidate(user.getId());
+                            cacheInvalidationBus.publishUserChanged(user.getId(), user.getEmail());
+                        });
+            }
 
             throw new BadCredentialsException("Invalid email or password");
         }
     }
 
+    /**
+     * Revoke every access token of a user by bumping their token version.
+     * Runs outside a transaction so the caches are cleared only after the new version is
+     * committed; other nodes are told through the invalidation bus.
+     *
+     * @param email user's email
+     * @param accessToken the token presented with the logout request, may be null
+     */
+    public void logout(String email, String accessToken) {
+        userRepository.findByEmailNormalized(email.toLowerCase())
+                .ifPresent(user -> {
+                    user.revokeTokens();
+                    userRepository.save(user);
+                    userDetailsCache.evict(user.getEmail());
+                    tokenVersionRegistry.invalidate(user.getId());
+                    cacheInvalidationBus.publishUserChanged(user.getId(), user.getEmail());
+                });
+        if (accessToken != null) {
+            jwtService.evict(accessToken);
+        }
+    }
+
     /**
      * Get current user information.
      *
@@ -0,0 +1,227 @@
+package com.anok.service;
+
+import com.anok.dto.SuggestionResponse;
+import com.anok.exception.ValidationException;
+import com.anok.model.Event;
+import com.anok.model.EventGenre;
+import com.anok.model.EventPerformer;
+import com.anok.repository.EventGenreRepository;
+import com.anok.repository.EventPerformerRepository;
+import com.anok.repository.projection.TermCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Prefix autocomplete for performer names and genres, served entirely from memory.
+ * Indexes are loaded at startup (and reloaded on cross-node invalidation) and updated in
+ * place as events are created; lookups never touch the database or take a lock.
+ * A reload builds fresh indexes off to the side and swaps both in together; events added
+ * while it runs are replayed onto the new indexes before the swap, so none are lost.
+ * Genre suggestions combine event genre labels with performer genre1/genre2 values.
+ */
+@Service
+public class AutocompleteService {
+
+    public static final String PERFORMER = "performer";
+    public static final String GENRE = "genre";
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+    private final EventGenreRepository eventGenreRepository;
+    private final EventPerformerRepository eventPerformerRepository;
+
+    private volatile Indexes indexes = new Indexes(new PrefixIndex(), new PrefixIndex());
+
+    /**
+     * Held shared by {@link #add} and exclusively by {@link #load} while it starts
+     * recording and while it swaps, so an add lands in the old indexes and the replay
+     * log, or in the new indexes, never in neither.
+     */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    /**
+     * Counts added since the running reload started, or null when no reload is running.
+     */
+    private Queue<Delta> addedDuringLoad;
+
+    public AutocompleteService(
+            EventGenreRepository eventGenreRepository,
+            EventPerformerRepository eventPerformerRepository
+    ) {
+        this.eventGenreRepository = eventGenreRepository;
+        this.eventPerformerRepository = eventPerformerRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Queue<Delta> added = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            addedDuringLoad = added;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Indexes loaded;
+        try {
+            Map<String, Long> performerCounts = new HashMap<>();
+            addAll(performerCounts, eventPerformerRepository.countPerformerNames());
+
+            Map<String, Long> genreCounts = new HashMap<>();
+            addAll(genreCounts, eventGenreRepository.countLabels());
+            addAll(genreCounts, eventPerformerRepository.countGenre1());
+            addAll(genreCounts, eventPerformerRepository.countGenre2());
+            loaded = new Indexes(PrefixIndex.of(performerCounts), PrefixIndex.of(genreCounts));
+        } catch (RuntimeException e) {
+            swapLock.writeLock().lock();
+            try {
+                addedDuringLoad = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            // May count an event the queries already saw; ranking tolerates the overlap
+            for (Delta delta : added) {
+                loaded.apply(delta);
+            }
+            indexes = loaded;
+            addedDuringLoad = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Loaded autocomplete indexes: {} performers, {} genres",
+                loaded.performers().size(), loaded.genres().size());
+    }
+
+    /**
+     * Suggest values starting with {@code prefix}, most frequently used first.
+     *
+     * @param type "performer" or "genre"
+     * @param prefix typed text, matched case-insensitively
+     * @param limit maximum number of suggestions, or null for the default
+     * @return suggestions
+     */
+    public List<SuggestionResponse> suggest(String type, String prefix, Integer limit) {
+        PrefixIndex index;
+        if (PERFORMER.equals(type)) {
+            index = indexes.performers();
+        } else if (GENRE.equals(type)) {
+            index = indexes.genres();
+        } else {
+            throw new ValidationException("type", "must be 'performer' or 'genre'");
+        }
+        if (prefix == null || prefix.isBlank()) {
+            throw new ValidationException("prefix", "must not be blank");
+        }
+        if (prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new ValidationException("prefix", "must be at most " + MAX_PREFIX_LENGTH + " characters");
+        }
+        if (limit != null && limit < 1) {
+            throw new ValidationException("limit", "must be at least 1");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        return index.suggest(prefix, size).stream()
+                .map(suggestion -> new SuggestionResponse(suggestion.value(), suggestion.count()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Count the performers and genres of newly created events.
+     * Updates only the affected terms, and runs concurrently with other adds and lookups.
+     *
+     * @param events saved events with genres and performers attached
+     * @return the counts added, for other nodes to apply with {@link #add(Delta)}
+     */
+    public Delta addEvents(Collection<Event> events) {
+        Map<String, Long> performerCounts = new HashMap<>();
+        Map<String, Long> genreCounts = new HashMap<>();
+        for (Event event : events) {
+            if (event.getGenres() != null) {
+                for (EventGenre genre : event.getGenres()) {
+                    increment(genreCounts, genre.getLabel());
+                }
+            }
+            if (event.getPerformers() != null) {
+                for (EventPerformer performer : event.getPerformers()) {
+                    increment(performerCounts, performer.getPerformerName());
+                    increment(genreCounts, performer.getGenre1());
+                    increment(genreCounts, performer.getGenre2());
+                }
+            }
+        }
+        Delta delta = new Delta(performerCounts, genreCounts);
+        add(delta);
+        return delta;
+    }
+
+    /**
+     * Add term counts of events created elsewhere, such as on another node.
+     *
+     * @param delta counts returned by {@link #addEvents}
+     */
+    public void add(Delta delta) {
+        swapLock.readLock().lock();
+        try {
+            indexes.apply(delta);
+            Queue<Delta> added = addedDuringLoad;
+            if (added != null) {
+                added.add(delta);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void addAll(Map<String, Long> counts, List<TermCount> terms) {
+        for (TermCount term : terms) {
+            if (term.term() != null) {
+                counts.merge(term.term(), term.count(), Long::sum);
+            }
+        }
+    }
+
+    private static void increment(Map<String, Long> counts, String term) {
+        if (term != null && !term.isBlank()) {
+            counts.merge(term, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Term counts from one {@link #addEvents} call.
+     */
+    public record Delta(Map<String, Long> performers, Map<String, Long> genres) {
+    }
+
+    /**
+     * The performer and genre indexes of one load, swapped together.
+     */
+    private record Indexes(PrefixIndex performers, PrefixIndex genres) {
+
+        void apply(Delta delta) {
+            performers.add(delta.performers());
+            genres.add(delta.genres());
+        }
+    }
+}
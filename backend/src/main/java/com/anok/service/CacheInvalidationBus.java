@@ -0,0 +1,352 @@
+package com.anok.service;
+
+import com.anok.model.User;
+import com.anok.security.TokenVersionRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cross-node invalidation of the in-process caches through PostgreSQL LISTEN/NOTIFY.
+ * Writers invalidate their own caches directly and publish a notification; every other
+ * node receives it on a dedicated connection, outside the pool, and applies the
+ * invalidations collected during one batch window together, so a burst of writes costs
+ * one snapshot rebuild per node rather than one per write. Event notifications carry the
+ * autocomplete terms added, which are applied in place instead of reloading the indexes.
+ * The idle listener connection is checked periodically, so a silently dropped connection
+ * is noticed and reopened. Notifications sent while the listener was disconnected are
+ * lost, so every cache is cleared after a reconnect.
+ *
+ * <p>Payloads are {@code <node>|events|<terms json>}, {@code <node>|events} when the terms
+ * do not fit in a notification, or {@code <node>|user|<id>|<email>}.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String EVENTS = "events";
+    private static final String USER = "user";
+
+    /**
+     * Longest blocking wait for notifications, so shutdown is noticed promptly.
+     */
+    private static final int POLL_MS = 1000;
+
+    /**
+     * PostgreSQL rejects notification payloads of 8000 bytes or more.
+     */
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+
+    /**
+     * Read timeout of the listener connection outside the notification polls, bounding
+     * how long a liveness check can hang on a dead connection.
+     */
+    private static final int SOCKET_TIMEOUT_SECONDS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final UpcomingEventsSnapshot upcomingEventsSnapshot;
+    private final EventFacetService eventFacetService;
+    private final AutocompleteService autocompleteService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final CachingUserDetailsService userDetailsCache;
+    private final SessionFactory sessionFactory;
+    private final boolean enabled;
+    private final String channel;
+    private final long batchWindowMs;
+    private final long reconnectDelayMs;
+    private final long livenessCheckMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Thread listener = new Thread(this::listen, "cache-invalidation-listener");
+
+    private volatile boolean running;
+
+    public CacheInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            DataSourceProperties dataSourceProperties,
+            UpcomingEventsSnapshot upcomingEventsSnapshot,
+            EventFacetService eventFacetService,
+            AutocompleteService autocompleteService,
+            TokenVersionRegistry tokenVersionRegistry,
+            CachingUserDetailsService userDetailsCache,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${cache.invalidation.channel:anok_cache_invalidation}") String channel,
+            @Value("${cache.invalidation.batch-window-ms:250}") long batchWindowMs,
+            @Value("${cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMs,
+            @Value("${cache.invalidation.liveness-check-ms:30000}") long livenessCheckMs
+    ) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("cache.invalidation.channel must be a lowercase SQL identifier");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.upcomingEventsSnapshot = upcomingEventsSnapshot;
+        this.eventFacetService = eventFacetService;
+        this.autocompleteService = autocompleteService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.enabled = enabled;
+        this.channel = channel;
+        this.batchWindowMs = batchWindowMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.livenessCheckMs = livenessCheckMs;
+        this.listener.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener.start();
+    }
+
+    /**
+     * Tell other nodes that events were created, so they drop their listing snapshot and
+     * facet counts and add the new autocomplete terms. Terms too large for one notification
+     * make the other nodes reload autocomplete instead.
+     *
+     * @param added autocomplete counts of the created events
+     */
+    public void publishEventsChanged(AutocompleteService.Delta added) {
+        if (!enabled) {
+            return;
+        }
+        String message = EVENTS;
+        try {
+            String withTerms = EVENTS + "|" + objectMapper.writeValueAsString(added);
+            if ((nodeId + "|" + withTerms).getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+                message = withTerms;
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to encode autocomplete terms, other nodes will reload: {}", e.getMessage());
+        }
+        publish(message);
+    }
+
+    /**
+     * Tell other nodes that a user's lock state, roles or token version changed.
+     *
+     * @param userId user id
+     * @param email user's email address
+     */
+    public void publishUserChanged(UUID userId, String email) {
+        publish(USER + "|" + userId + "|" + email);
+    }
+
+    private void publish(String message) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, nodeId + "|" + message);
+        } catch (RuntimeException e) {
+            // Other nodes converge when their cache entries expire
+            log.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties())) {
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel {}", channel);
+                if (reconnect) {
+                    // Anything published while disconnected was missed
+                    apply(Batch.all());
+                }
+                receive(conn);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected: {}", e.getMessage());
+                }
+            }
+            sleep(reconnectDelayMs);
+            reconnect = true;
+        }
+    }
+
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("socketTimeout", String.valueOf(SOCKET_TIMEOUT_SECONDS));
+        return properties;
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection conn = connection.unwrap(PGConnection.class);
+        long lastCheck = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] notifications = conn.getNotifications(POLL_MS);
+            if (notifications == null || notifications.length == 0) {
+                // An idle poll cannot tell a quiet channel from a dropped connection
+                if (System.currentTimeMillis() - lastCheck >= livenessCheckMs) {
+                    checkAlive(connection);
+                    lastCheck = System.currentTimeMillis();
+                }
+                continue;
+            }
+            lastCheck = System.currentTimeMillis();
+            Batch batch = new Batch();
+            collect(batch, notifications);
+            // Keep collecting for one window so a burst is applied once
+            long deadline = System.currentTimeMillis() + batchWindowMs;
+            long remaining;
+            while (running && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                notifications = conn.getNotifications((int) Math.min(remaining, POLL_MS));
+                if (notifications != null) {
+                    collect(batch, notifications);
+                }
+            }
+            apply(batch);
+        }
+    }
+
+    /**
+     * Fails, so the listener reconnects, when the server no longer answers.
+     */
+    private void checkAlive(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+
+    private void collect(Batch batch, PGNotification[] notifications) {
+        for (PGNotification notification : notifications) {
+            String[] parts = notification.getParameter().split("\\|", 3);
+            if (parts.length < 2 || nodeId.equals(parts[0])) {
+                continue;
+            }
+            if (EVENTS.equals(parts[1])) {
+                batch.events = true;
+                if (parts.length < 3) {
+                    batch.reloadAutocomplete = true;
+                    continue;
+                }
+                try {
+                    batch.addedTerms.add(objectMapper.readValue(parts[2], AutocompleteService.Delta.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Reloading autocomplete after a malformed event notification: {}", e.getMessage());
+                    batch.reloadAutocomplete = true;
+                }
+            } else if (USER.equals(parts[1]) && parts.length == 3) {
+                String[] user = parts[2].split("\\|", 2);
+                if (user.length < 2) {
+                    continue;
+                }
+                try {
+                    batch.userIds.add(UUID.fromString(user[0]));
+                    batch.emails.add(user[1]);
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring malformed cache invalidation: {}", notification.getParameter());
+                }
+            }
+        }
+    }
+
+    private void apply(Batch batch) {
+        try {
+            if (batch.everything) {
+                tokenVersionRegistry.invalidateAll();
+                userDetailsCache.evictAll();
+                sessionFactory.getCache().evictEntityData(User.class);
+                sessionFactory.getCache().evictCollectionData(User.class.getName() + ".roles");
+            }
+            if (batch.events || batch.everything) {
+                upcomingEventsSnapshot.invalidate();
+                eventFacetService.invalidate();
+                if (batch.everything || batch.reloadAutocomplete) {
+                    autocompleteService.load();
+                } else {
+                    for (AutocompleteService.Delta added : batch.addedTerms) {
+                        autocompleteService.add(added);
+                    }
+                }
+            }
+            for (UUID userId : batch.userIds) {
+                tokenVersionRegistry.invalidate(userId);
+                sessionFactory.getCache().evictEntityData(User.class, userId);
+                sessionFactory.getCache().evictCollectionData(User.class.getName() + ".roles", userId);
+            }
+            for (String email : batch.emails) {
+                userDetailsCache.evict(email);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        listener.interrupt();
+    }
+
+    /**
+     * Invalidations collected during one batch window.
+     */
+    private static final class Batch {
+        private boolean everything;
+        private boolean events;
+        private boolean reloadAutocomplete;
+        private final List<AutocompleteService.Delta> addedTerms = new ArrayList<>();
+        private final Set<UUID> userIds = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+
+        private static Batch all() {
+            Batch batch = new Batch();
+            batch.everything = true;
+            return batch;
+        }
+    }
+}
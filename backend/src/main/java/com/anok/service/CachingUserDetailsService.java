@@ -0,0 +1,79 @@
+package com.anok.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Size- and TTL-bounded cache in front of {@link CustomUserDetailsService}.
+ * Primary UserDetailsService, so both login and the JWT filter go through it.
+ * AuthenticationService evicts entries whenever it changes lock state or roles.
+ */
+@Service
+@Primary
+public class CachingUserDetailsService implements UserDetailsService {
+
+    private final CustomUserDetailsService delegate;
+    private final Cache<String, UserDetails> cache;
+
+    public CachingUserDetailsService(
+            CustomUserDetailsService delegate,
+            MeterRegistry meterRegistry,
+            @Value("${security.user-details-cache.max-size:10000}") long maxSize,
+            @Value("${security.user-details-cache.ttl-ms:300000}") long ttlMs
+    ) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.user-details");
+    }
+
+    /**
+     * Load user details from the cache, falling back to the database.
+     * Returns a copy because authentication erases credentials on the returned instance.
+     *
+     * @param email user's email address
+     * @return UserDetails object
+     * @throws UsernameNotFoundException if user not found
+     */
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = cache.get(key(email), delegate::loadUserByUsername);
+        return User.withUserDetails(cached).build();
+    }
+
+    /**
+     * Drop the cached details of a user.
+     *
+     * @param email user's email address
+     */
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(key(email));
+        }
+    }
+
+    /**
+     * Drop the cached details of every user.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private String key(String email) {
+        return email.toLowerCase();
+    }
+}
@@ -18,9 +18,11 @@ import java.util.stream.Collectors;
 /**
  * Custom UserDetailsService implementation that loads user details from the database.
  * Implements Spring Security's UserDetailsService interface.
+ * Deliberately not read-only: lock and password state must come from the primary,
+ * never from a lagging read replica.
  */
 @Service
-@Transactional(readOnly = true)
+@Transactional
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
@@ -0,0 +1,188 @@
+package com.anok.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker over database reads, shared by every {@link StaleReadCache}.
+ * Tracks the outcome of the last {@code window-size} calls; a call fails if it throws a
+ * database exception or takes longer than {@code slow-call-ms}. Once enough calls fail
+ * the breaker opens and reads are answered from stale data without waiting on the
+ * database. After {@code open-ms} a single probe call is let through: success closes the
+ * breaker, failure keeps it open for another period.
+ */
+@Component
+public class DatabaseCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    /**
+     * Whether and how a call may go to the database.
+     */
+    enum Permit {
+        DENIED,
+        CALL,
+        PROBE
+    }
+
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final ThreadPoolExecutor probeExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> {
+                Thread thread = new Thread(runnable, "database-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public DatabaseCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${events.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${events.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${events.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${events.circuit-breaker.slow-call-ms:2000}") long slowCallMs,
+            @Value("${events.circuit-breaker.open-ms:10000}") long openMs
+    ) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        Gauge.builder("events.circuit-breaker.state", this, breaker -> breaker.state().ordinal())
+                .description("0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ask to call the database.
+     *
+     * @return CALL while closed, PROBE for the single trial call once the open period has
+     *         passed, otherwise DENIED; every CALL or PROBE must be followed by
+     *         {@link #record}
+     */
+    synchronized Permit acquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.CLOSED) {
+            return Permit.CALL;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return Permit.PROBE;
+        }
+        return Permit.DENIED;
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     *
+     * @param permit the permit the call ran under
+     * @param elapsedNanos call duration
+     * @param error exception thrown by the call, or null
+     */
+    synchronized void record(Permit permit, long elapsedNanos, Throwable error) {
+        boolean failed = elapsedNanos > slowCallNanos || isDatabaseFailure(error);
+        if (permit == Permit.PROBE) {
+            probeInFlight = false;
+            if (failed) {
+                open();
+            } else {
+                log.info("Database reads recovered, closing circuit breaker");
+                state = State.CLOSED;
+                calls = 0;
+                failures = 0;
+                next = 0;
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // A call permitted before the breaker opened
+            return;
+        }
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+        if (calls >= minimumCalls && (double) failures / calls >= failureRateThreshold) {
+            log.warn("{} of the last {} database reads failed or were slow, opening circuit breaker", failures, calls);
+            open();
+        }
+    }
+
+    /**
+     * Run a probe call in the background, so the request that triggered it is not delayed.
+     *
+     * @param probe the call; must record its outcome under {@link Permit#PROBE}
+     */
+    void probeAsync(Runnable probe) {
+        try {
+            probeExecutor.execute(probe);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                probeInFlight = false;
+            }
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Whether {@code error} indicates the database is unavailable or failing, as opposed
+     * to a problem with the request itself.
+     */
+    static boolean isDatabaseFailure(Throwable error) {
+        return error instanceof DataAccessException
+                || error instanceof TransactionException
+                || error instanceof PersistenceException;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+    }
+
+    @PreDestroy
+    public void close() {
+        probeExecutor.shutdownNow();
+    }
+}
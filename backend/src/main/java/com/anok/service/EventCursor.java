@@ -0,0 +1,77 @@
+package com.anok.service;
+
+import com.anok.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset pagination position over (event_datetime, id).
+ * Serialized as an opaque URL-safe token so clients never depend on its layout.
+ */
+public record EventCursor(LocalDateTime eventDateTime, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Lowest possible id, used to start a page at a timestamp without skipping rows.
+     */
+    public static final UUID MIN_ID = new UUID(0L, 0L);
+
+    /**
+     * Compare two positions the way PostgreSQL orders (event_datetime, uuid).
+     * UUIDs are compared as unsigned big-endian bytes, unlike {@link UUID#compareTo}.
+     *
+     * @param eventDateTime event start of the other position
+     * @param id id of the other position
+     * @return negative, zero or positive as this position sorts before, equal to or after the other
+     */
+    public int compareTo(LocalDateTime eventDateTime, UUID id) {
+        int byTime = this.eventDateTime.compareTo(eventDateTime);
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byHigh = Long.compareUnsigned(this.id.getMostSignificantBits(), id.getMostSignificantBits());
+        if (byHigh != 0) {
+            return byHigh;
+        }
+        return Long.compareUnsigned(this.id.getLeastSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    /**
+     * Encode this position as an opaque token.
+     *
+     * @return URL-safe cursor token
+     */
+    public String encode() {
+        String raw = eventDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token cursor token from a previous page
+     * @return decoded cursor
+     * @throws ValidationException if the token is malformed
+     */
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split < 0) {
+                throw new ValidationException("cursor", "malformed");
+            }
+            return new EventCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    UUID.fromString(raw.substring(split + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("cursor", "malformed");
+        }
+    }
+}
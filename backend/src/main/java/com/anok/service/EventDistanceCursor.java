@@ -0,0 +1,59 @@
+package com.anok.service;
+
+import com.anok.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in nearby results, ordered by (distance ASC, id ASC).
+ * Serialized as an opaque URL-safe token like {@link EventCursor}; only meaningful for
+ * the query point it was issued for.
+ */
+public record EventDistanceCursor(double distanceKm, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position before the first result: every distance is above it.
+     */
+    public static final EventDistanceCursor FIRST = new EventDistanceCursor(-1, EventCursor.MIN_ID);
+
+    /**
+     * Encode this position as an opaque token.
+     * {@link Double#toString} round-trips exactly, so the next page resumes at precisely
+     * the same distance.
+     *
+     * @return URL-safe cursor token
+     */
+    public String encode() {
+        String raw = Double.toString(distanceKm) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token cursor token from a previous page
+     * @return decoded cursor
+     * @throws ValidationException if the token is malformed
+     */
+    public static EventDistanceCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split < 0) {
+                throw new ValidationException("cursor", "malformed");
+            }
+            double distance = Double.parseDouble(raw.substring(0, split));
+            if (Double.isNaN(distance)) {
+                throw new ValidationException("cursor", "malformed");
+            }
+            return new EventDistanceCursor(distance, UUID.fromString(raw.substring(split + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("cursor", "malformed");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.anok.service;
+
+import com.anok.repository.projection.EventVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Strong entity tags for event representations, derived from ids and updated_at
+ * instead of the serialized body so they can be checked before any mapping happens.
+ * The URL epoch from {@link S3Service#urlEpoch()} is mixed in so clients revalidate
+ * before the presigned flyer URLs they hold expire.
+ */
+final class EventETags {
+
+    private static final int TAG_BYTES = 16;
+
+    private EventETags() {
+    }
+
+    static String forEvent(UUID id, LocalDateTime updatedAt, long urlEpoch) {
+        MessageDigest digest = newDigest();
+        update(digest, "event|" + urlEpoch);
+        update(digest, id, updatedAt);
+        return toTag(digest);
+    }
+
+    static String forPage(List<EventVersion> versions, boolean hasMore, long urlEpoch) {
+        MessageDigest digest = newDigest();
+        update(digest, "page|" + urlEpoch + "|" + hasMore);
+        for (EventVersion version : versions) {
+            update(digest, version.getId(), version.getUpdatedAt());
+        }
+        return toTag(digest);
+    }
+
+    /**
+     * Evaluate an If-None-Match header against the current tag.
+     * Uses weak comparison, as RFC 9110 requires for If-None-Match.
+     *
+     * @param ifNoneMatch header value, may be null
+     * @param etag current quoted tag
+     * @return true if the client's copy is current
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void update(MessageDigest digest, UUID id, LocalDateTime updatedAt) {
+        update(digest, ";" + id + "@" + updatedAt);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toTag(MessageDigest digest) {
+        byte[] hash = digest.digest();
+        byte[] truncated = new byte[TAG_BYTES];
+        System.arraycopy(hash, 0, truncated, 0, TAG_BYTES);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(truncated) + "\"";
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
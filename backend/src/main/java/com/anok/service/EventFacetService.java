@@ -0,0 +1,66 @@
+package com.anok.service;
+
+import com.anok.dto.EventFacetsResponse;
+import com.anok.exception.ValidationException;
+import com.anok.repository.EventFilter;
+import com.anok.repository.EventRepository;
+import com.anok.repository.projection.EventFacetCounts;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Facet counts for the event filter UI.
+ * Each filter combination is counted in one SQL statement and cached briefly, so a
+ * sidebar refreshing on every filter change mostly hits memory. Writes clear the cache.
+ */
+@Service
+public class EventFacetService {
+
+    private final EventRepository eventRepository;
+    private final Cache<EventFilter, EventFacetCounts> counts;
+
+    public EventFacetService(
+            EventRepository eventRepository,
+            @Value("${events.facets.cache.max-size:1000}") long cacheMaxSize,
+            @Value("${events.facets.cache.ttl-ms:30000}") long cacheTtlMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.eventRepository = eventRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "events.facets");
+    }
+
+    /**
+     * Counts over the upcoming events matching {@code filter}.
+     *
+     * @param filter predicates to apply
+     * @return total, per-flag and per-genre counts
+     */
+    public EventFacetsResponse getFacets(EventFilter filter) {
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new ValidationException("from", "must not be after 'to'");
+        }
+        EventFacetCounts facets = counts.get(filter,
+                key -> eventRepository.countFacets(key, LocalDateTime.now()));
+        return new EventFacetsResponse(
+                facets.total(), facets.genres(), facets.allAges(), facets.alcohol(), facets.live());
+    }
+
+    /**
+     * Drop all cached counts after events are created.
+     */
+    public void invalidate() {
+        counts.invalidateAll();
+    }
+}
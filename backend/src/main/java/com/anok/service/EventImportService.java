@@ -0,0 +1,323 @@
+package com.anok.service;
+
+import com.anok.dto.EventImportRowResult;
+import com.anok.dto.EventRequest;
+import com.anok.exception.ResourceNotFoundException;
+import com.anok.model.Event;
+import com.anok.model.User;
+import com.anok.repository.EventCopyWriter;
+import com.anok.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of events from NDJSON or CSV.
+ * The body is parsed one row at a time and validated with the same constraints as
+ * POST /events; valid rows are written in chunks through PostgreSQL COPY and the per-row
+ * results of each chunk are handed to the caller as soon as that chunk commits, so neither
+ * the input nor the output is ever held in memory as a whole.
+ *
+ * <p>CSV uses a header row with the EventRequest field names. {@code genres} is a
+ * semicolon-separated list and {@code performers} a semicolon-separated list of
+ * {@code name|genre1|genre2|link} entries.
+ */
+@Service
+public class EventImportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    /**
+     * Receives the results of each committed chunk, in row order.
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+        void accept(List<EventImportRowResult> results) throws IOException;
+    }
+
+    private final EventService eventService;
+    private final EventCopyWriter eventCopyWriter;
+    private final UserRepository userRepository;
+    private final UpcomingEventsSnapshot upcomingEventsSnapshot;
+    private final EventFacetService eventFacetService;
+    private final AutocompleteService autocompleteService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final int batchSize;
+    private final long maxRows;
+
+    public EventImportService(
+            EventService eventService,
+            EventCopyWriter eventCopyWriter,
+            UserRepository userRepository,
+            UpcomingEventsSnapshot upcomingEventsSnapshot,
+            EventFacetService eventFacetService,
+            AutocompleteService autocompleteService,
+            CacheInvalidationBus cacheInvalidationBus,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${events.import.batch-size:500}") int batchSize,
+            @Value("${events.import.max-rows:20000}") long maxRows
+    ) {
+        this.eventService = eventService;
+        this.eventCopyWriter = eventCopyWriter;
+        this.userRepository = userRepository;
+        this.upcomingEventsSnapshot = upcomingEventsSnapshot;
+        this.eventFacetService = eventFacetService;
+        this.autocompleteService = autocompleteService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Import events owned by {@code ownerEmail}.
+     *
+     * @param body request body
+     * @param format body format
+     * @param ownerEmail authenticated user's email
+     * @param sink receives per-row results after each chunk
+     * @return counts of rows, created, invalid and failed
+     * @throws IOException if the body cannot be read or results cannot be written
+     */
+    public Map<String, Long> importEvents(InputStream body, Format format, String ownerEmail, ResultSink sink)
+            throws IOException {
+        User owner = userRepository.findByEmailNormalized(ownerEmail.toLowerCase())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        Chunk chunk = new Chunk(owner, sink);
+        if (format == Format.CSV) {
+            readCsv(body, chunk);
+        } else {
+            readNdjson(body, chunk);
+        }
+        chunk.flush();
+
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("rows", chunk.rows);
+        summary.put("created", chunk.created);
+        summary.put("invalid", chunk.invalid);
+        summary.put("failed", chunk.failed);
+        return summary;
+    }
+
+    private void readNdjson(InputStream body, Chunk chunk) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        long row = 0;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            if (!chunk.accept(row)) {
+                return;
+            }
+            try {
+                chunk.add(row, objectMapper.readValue(line, EventRequest.class));
+            } catch (IOException e) {
+                chunk.reject(row, List.of("Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    /**
+     * A malformed record is reported as an invalid row and reading continues with the next
+     * one; only if the parser cannot get past it are the remaining rows given up.
+     */
+    private void readCsv(InputStream body, Chunk chunk) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<Map<String, String>> rows = csvMapper
+                .readerForMapOf(String.class)
+                .with(schema)
+                .readValues(body)) {
+            long row = 0;
+            while (true) {
+                long offset = rows.getCurrentLocation().getCharOffset();
+                Map<String, String> columns;
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                    columns = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    row++;
+                    if (!chunk.accept(row)) {
+                        return;
+                    }
+                    if (rows.getCurrentLocation().getCharOffset() == offset) {
+                        chunk.reject(row, List.of("Malformed CSV: " + e.getOriginalMessage()
+                                + "; remaining rows could not be read"));
+                        return;
+                    }
+                    chunk.reject(row, List.of("Malformed CSV: " + e.getOriginalMessage()));
+                    continue;
+                }
+                row++;
+                if (!chunk.accept(row)) {
+                    return;
+                }
+                try {
+                    chunk.add(row, fromCsv(columns));
+                } catch (IllegalArgumentException e) {
+                    chunk.reject(row, List.of("Invalid value: " + e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private EventRequest fromCsv(Map<String, String> columns) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        columns.forEach((name, value) -> {
+            if (value != null && !value.isBlank()) {
+                values.put(name.trim(), value);
+            }
+        });
+
+        Object genres = values.remove("genres");
+        if (genres != null) {
+            values.put("genres", split(genres.toString(), ";"));
+        }
+        Object performers = values.remove("performers");
+        if (performers != null) {
+            List<Map<String, String>> parsed = new ArrayList<>();
+            for (String entry : split(performers.toString(), ";")) {
+                String[] parts = entry.split("\\|", -1);
+                Map<String, String> performer = new LinkedHashMap<>();
+                performer.put("performerName", parts[0].trim());
+                performer.put("genre1", parts.length > 1 ? parts[1].trim() : null);
+                performer.put("genre2", parts.length > 2 ? parts[2].trim() : null);
+                performer.put("performerLink", parts.length > 3 ? parts[3].trim() : null);
+                parsed.add(performer);
+            }
+            values.put("performers", parsed);
+        }
+        return objectMapper.convertValue(values, EventRequest.class);
+    }
+
+    private static List<String> split(String value, String separator) {
+        return Arrays.stream(value.split(separator))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rows collected since the last flush, plus running totals.
+     */
+    private final class Chunk {
+        private final User owner;
+        private final ResultSink sink;
+        private final List<EventImportRowResult> results = new ArrayList<>();
+        private final List<Event> pending = new ArrayList<>();
+        private final List<EventImportRowResult> pendingResults = new ArrayList<>();
+        private long rows;
+        private long created;
+        private long invalid;
+        private long failed;
+
+        private Chunk(User owner, ResultSink sink) {
+            this.owner = owner;
+            this.sink = sink;
+        }
+
+        /**
+         * @return false once the row limit is exceeded; the row is reported and reading stops
+         */
+        private boolean accept(long row) {
+            rows = row;
+            if (row > maxRows) {
+                results.add(EventImportRowResult.failed(row, "Row limit of " + maxRows + " exceeded; remaining rows ignored"));
+                failed++;
+                return false;
+            }
+            return true;
+        }
+
+        private void add(long row, EventRequest request) throws IOException {
+            List<String> errors = validator.validate(request).stream()
+                    .map(this::describe)
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!errors.isEmpty()) {
+                reject(row, errors);
+                return;
+            }
+            EventImportRowResult result = new EventImportRowResult(row, null, null, null);
+            results.add(result);
+            pending.add(eventService.toEntity(request, owner));
+            pendingResults.add(result);
+            flushIfFull();
+        }
+
+        private void reject(long row, List<String> errors) throws IOException {
+            results.add(EventImportRowResult.invalid(row, errors));
+            invalid++;
+            flushIfFull();
+        }
+
+        private void flushIfFull() throws IOException {
+            if (results.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            if (!pending.isEmpty()) {
+                try {
+                    eventCopyWriter.copy(pending);
+                    for (int i = 0; i < pending.size(); i++) {
+                        pendingResults.get(i).setStatus(EventImportRowResult.CREATED);
+                        pendingResults.get(i).setId(pending.get(i).getId());
+                    }
+                    created += pending.size();
+                    upcomingEventsSnapshot.invalidate();
+                    eventFacetService.invalidate();
+                    AutocompleteService.Delta added = autocompleteService.addEvents(pending);
+                    cacheInvalidationBus.publishEventsChanged(added);
+                } catch (RuntimeException e) {
+                    for (EventImportRowResult result : pendingResults) {
+                        result.setStatus(EventImportRowResult.FAILED);
+                        result.setErrors(List.of("Batch write failed: " + e.getMessage()));
+                    }
+                    failed += pending.size();
+                }
+            }
+            if (!results.isEmpty()) {
+                sink.accept(new ArrayList<>(results));
+            }
+            results.clear();
+            pending.clear();
+            pendingResults.clear();
+        }
+
+        private String describe(ConstraintViolation<EventRequest> violation) {
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.anok.service;
+
+import com.anok.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in ranked search results, ordered by (rank DESC, id ASC).
+ * Serialized as an opaque URL-safe token like {@link EventCursor}.
+ */
+public record EventSearchCursor(float rank, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Position before the first result: every rank is below it.
+     */
+    public static final EventSearchCursor FIRST = new EventSearchCursor(Float.MAX_VALUE, EventCursor.MIN_ID);
+
+    /**
+     * Encode this position as an opaque token.
+     * The rank is written with {@link Float#toString}, which round-trips exactly,
+     * so the next page resumes at precisely the same score.
+     *
+     * @return URL-safe cursor token
+     */
+    public String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token cursor token from a previous page
+     * @return decoded cursor
+     * @throws ValidationException if the token is malformed
+     */
+    public static EventSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split < 0) {
+                throw new ValidationException("cursor", "malformed");
+            }
+            float rank = Float.parseFloat(raw.substring(0, split));
+            if (Float.isNaN(rank)) {
+                throw new ValidationException("cursor", "malformed");
+            }
+            return new EventSearchCursor(rank, UUID.fromString(raw.substring(split + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("cursor", "malformed");
+        }
+    }
+}
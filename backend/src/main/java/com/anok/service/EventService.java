@@ -1,41 +1,137 @@
 package com.anok.service;
 
+import com.anok.dto.EventPageResponse;
 import com.anok.dto.EventRequest;
 import com.anok.dto.EventResponse;
 import com.anok.exception.ResourceNotFoundException;
+import com.anok.exception.ServiceUnavailableException;
+import com.anok.exception.ValidationException;
 import com.anok.model.Event;
 import com.anok.model.EventGenre;
 import com.anok.model.EventPerformer;
 import com.anok.model.User;
+import com.anok.repository.EventFilter;
 import com.anok.repository.EventRepository;
 import com.anok.repository.UserRepository;
+import com.anok.repository.projection.EventDistance;
+import com.anok.repository.projection.EventSearchHit;
+import com.anok.repository.projection.EventVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 @Service
 public class EventService {
 
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final S3Service s3Service;
+    private final EventViewLoader eventViewLoader;
+    private final UpcomingEventsSnapshot upcomingEventsSnapshot;
+    private final EventFacetService eventFacetService;
+    private final AutocompleteService autocompleteService;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Geocoder geocoder;
+    private final double maxNearbyRadiusKm;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final SingleFlight<String, Versioned<EventResponse>> eventLoads;
+    private final StaleReadCache<PageKey, EventPageResponse> stalePages;
+    private final StaleReadCache<UUID, EventResponse> staleEvents;
+    private final Semaphore exportPermits;
+    private final Duration exportTimeout;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public EventService(EventRepository eventRepository, UserRepository userRepository, S3Service s3Service) {
+    public EventService(
+            EventRepository eventRepository,
+            UserRepository userRepository,
+            S3Service s3Service,
+            EventViewLoader eventViewLoader,
+            UpcomingEventsSnapshot upcomingEventsSnapshot,
+            EventFacetService eventFacetService,
+            AutocompleteService autocompleteService,
+            CacheInvalidationBus cacheInvalidationBus,
+            Geocoder geocoder,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            DatabaseCircuitBreaker databaseCircuitBreaker,
+            @Value("${events.stale.max-size:2000}") long staleMaxSize,
+            @Value("${events.stale.max-stale-ms:600000}") long maxStaleMs,
+            @Value("${events.pagination.default-size:20}") int defaultPageSize,
+            @Value("${events.pagination.max-size:100}") int maxPageSize,
+            @Value("${events.nearby.max-radius-km:500}") double maxNearbyRadiusKm,
+            @Value("${events.export.max-concurrent:2}") int maxConcurrentExports,
+            @Value("${events.export.timeout-seconds:120}") long exportTimeoutSeconds
+    ) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.s3Service = s3Service;
+        this.eventViewLoader = eventViewLoader;
+        this.upcomingEventsSnapshot = upcomingEventsSnapshot;
+        this.eventFacetService = eventFacetService;
+        this.autocompleteService = autocompleteService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.geocoder = geocoder;
+        this.maxNearbyRadiusKm = maxNearbyRadiusKm;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Read-write, so never routed to the read replica
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.eventLoads = new SingleFlight<>("events.detail.single-flight", meterRegistry);
+        // A stale body is only useful while the flyer URLs it carries still work
+        long staleLimitMs = Math.min(maxStaleMs, s3Service.minimumUrlValidity().toMillis());
+        this.stalePages = new StaleReadCache<>("events.list.stale-cache", databaseCircuitBreaker,
+                staleMaxSize, staleLimitMs, meterRegistry);
+        this.staleEvents = new StaleReadCache<>("events.detail.stale-cache", databaseCircuitBreaker,
+                staleMaxSize, staleLimitMs, meterRegistry);
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+        this.exportTimeout = Duration.ofSeconds(exportTimeoutSeconds);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     public EventResponse createEvent(EventRequest request, String ownerEmail) {
         User owner = userRepository.findByEmailNormalized(ownerEmail.toLowerCase())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        Event event = toEntity(request, owner);
+
+        Event saved = eventRepository.save(event);
+        upcomingEventsSnapshot.invalidate();
+        eventFacetService.invalidate();
+        AutocompleteService.Delta added = autocompleteService.addEvents(List.of(saved));
+        cacheInvalidationBus.publishEventsChanged(added);
+        return toResponse(saved);
+    }
+
+    /**
+     * Build a new, unsaved event from a validated request, applying the same trimming and
+     * derived fields for every write path.
+     *
+     * @param request validated event request
+     * @param owner owning user
+     * @return transient event with genres and performers attached
+     */
+    Event toEntity(EventRequest request, User owner) {
         LocalTime computedEndTime = request.getEndTime();
         if (computedEndTime == null && request.getStartTime() != null && request.getEventLengthHours() != null) {
             computedEndTime = request.getStartTime().plusHours(request.getEventLengthHours());
@@ -60,25 +156,263 @@ public class EventService {
         event.setAllAges(request.getAllAges());
         event.setAlcohol(request.getAlcohol());
         event.setAgeRestriction(Boolean.TRUE.equals(request.getAllAges()) ? "ALL" : "18+");
+        applyLocation(event, request);
         applyGenres(event, request.getGenres());
         applyPerformers(event, request.getPerformers());
+        return event;
+    }
 
-        Event saved = eventRepository.save(event);
-        return toResponse(saved);
+    /**
+     * List upcoming events one keyset page at a time.
+     * Unfiltered pages are served from the in-memory snapshot when it covers the page,
+     * otherwise from the database. If the database fails or its circuit breaker is open,
+     * the last page loaded for the same request is returned, marked stale.
+     *
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit requested page size, or null for the configured default
+     * @param filter predicates to apply; {@link EventFilter#NONE} for all upcoming events
+     * @param ifNoneMatch If-None-Match header from the client, may be null
+     * @return page of events and the cursor for the next one, with its entity tag;
+     *         not modified if the client's tag still matches
+     */
+    public Versioned<EventPageResponse> listUpcomingEvents(
+            String cursor,
+            Integer limit,
+            EventFilter filter,
+            String ifNoneMatch
+    ) {
+        int pageSize = resolvePageSize(limit);
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new ValidationException("from", "must not be after 'to'");
+        }
+        EventCursor position = cursor == null || cursor.isBlank() ? null : EventCursor.decode(cursor);
+
+        // The snapshot needs no database, so it is tried even while the breaker is open
+        if (filter.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            EventCursor after = position == null ? new EventCursor(now, EventCursor.MIN_ID) : position;
+            Optional<Versioned<EventPageResponse>> cached = upcomingEventsSnapshot.page(now, after, pageSize);
+            if (cached.isPresent()) {
+                String etag = cached.get().etag();
+                return EventETags.matches(ifNoneMatch, etag) ? Versioned.notModified(etag) : cached.get();
+            }
+        }
+
+        return stalePages.read(new PageKey(position, pageSize, filter), ifNoneMatch,
+                tag -> loadUpcomingEvents(position, pageSize, filter, tag));
     }
 
-    public List<EventResponse> listUpcomingEvents() {
+    private Versioned<EventPageResponse> loadUpcomingEvents(
+            EventCursor position,
+            int pageSize,
+            EventFilter filter,
+            String ifNoneMatch
+    ) {
         LocalDateTime now = LocalDateTime.now();
-        return eventRepository.findAllByEventDateTimeAfterOrderByEventDateTimeAsc(now)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        EventCursor after = position == null ? new EventCursor(now, EventCursor.MIN_ID) : position;
+
+        // Fetch one extra row to learn whether another page exists
+        List<EventVersion> versions = filter.isEmpty()
+                ? eventViewLoader.findUpcomingVersions(now, after, pageSize + 1)
+                : eventRepository.findFilteredVersionsAfter(
+                        filter, now, after.eventDateTime(), after.id(), pageSize + 1);
+        boolean hasMore = versions.size() > pageSize;
+        if (hasMore) {
+            versions = versions.subList(0, pageSize);
+        }
+
+        // The tag only needs ids and updated_at, so a match skips loading and mapping entirely
+        String etag = EventETags.forPage(versions, hasMore, s3Service.urlEpoch());
+        if (EventETags.matches(ifNoneMatch, etag)) {
+            return Versioned.notModified(etag);
+        }
+
+        List<UUID> ids = versions.stream().map(EventVersion::getId).collect(Collectors.toList());
+        List<EventResponse> items = eventViewLoader.loadListViews(ids);
+
+        String next = null;
+        if (hasMore && !items.isEmpty()) {
+            EventResponse last = items.get(items.size() - 1);
+            next = new EventCursor(last.getEventDateTime(), last.getId()).encode();
+        }
+        return new Versioned<>(new EventPageResponse(items, next), etag);
+    }
+
+    /**
+     * Full-text search over upcoming events, ranked by relevance and paged by keyset.
+     *
+     * @param query search text; supports quoted phrases, OR and -exclusions
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit requested page size, or null for the configured default
+     * @return page of matching events, best match first, and the cursor for the next one
+     */
+    public EventPageResponse searchEvents(String query, String cursor, Integer limit) {
+        String trimmed = trimToNull(query);
+        if (trimmed == null) {
+            throw new ValidationException("q", "must not be blank");
+        }
+        if (trimmed.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new ValidationException("q", "must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageSize = resolvePageSize(limit);
+        EventSearchCursor after = cursor == null || cursor.isBlank()
+                ? EventSearchCursor.FIRST
+                : EventSearchCursor.decode(cursor);
+
+        List<EventSearchHit> hits = eventRepository.searchUpcoming(
+                trimmed, LocalDateTime.now(), after.rank(), after.id(), pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        List<UUID> ids = hits.stream().map(EventSearchHit::getId).collect(Collectors.toList());
+        List<EventResponse> items = eventViewLoader.loadListViews(ids);
+
+        String next = null;
+        if (hasMore && !hits.isEmpty()) {
+            EventSearchHit last = hits.get(hits.size() - 1);
+            next = new EventSearchCursor(last.getRank(), last.getId()).encode();
+        }
+        return new EventPageResponse(items, next);
     }
 
-    public EventResponse getEvent(UUID id) {
+    /**
+     * Upcoming geocoded events within {@code radiusKm} of a point, nearest first.
+     *
+     * @param latitude query point latitude
+     * @param longitude query point longitude
+     * @param radiusKm search radius in km
+     * @param cursor opaque cursor from a previous page for the same point, or null
+     * @param limit requested page size, or null for the configured default
+     * @param filter additional predicates; {@link EventFilter#NONE} for none
+     * @return page of events and the cursor for the next one
+     */
+    public EventPageResponse findNearbyEvents(
+            Double latitude,
+            Double longitude,
+            Double radiusKm,
+            String cursor,
+            Integer limit,
+            EventFilter filter
+    ) {
+        if (latitude == null || latitude < -90 || latitude > 90) {
+            throw new ValidationException("lat", "must be between -90 and 90");
+        }
+        if (longitude == null || longitude < -180 || longitude > 180) {
+            throw new ValidationException("lng", "must be between -180 and 180");
+        }
+        if (radiusKm == null || radiusKm <= 0 || radiusKm > maxNearbyRadiusKm) {
+            throw new ValidationException("radiusKm", "must be greater than 0 and at most " + maxNearbyRadiusKm);
+        }
+        int pageSize = resolvePageSize(limit);
+        EventDistanceCursor after = cursor == null || cursor.isBlank()
+                ? EventDistanceCursor.FIRST
+                : EventDistanceCursor.decode(cursor);
+
+        GeoPoint center = new GeoPoint(latitude, longitude);
+        List<EventDistance> hits = eventRepository.findNearby(
+                filter, Geohash.cover(center, radiusKm), latitude, longitude, radiusKm,
+                LocalDateTime.now(), after.distanceKm(), after.id(), pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        if (hasMore) {
+            hits = hits.subList(0, pageSize);
+        }
+
+        List<UUID> ids = hits.stream().map(EventDistance::id).collect(Collectors.toList());
+        List<EventResponse> items = eventViewLoader.loadListViews(ids);
+
+        String next = null;
+        if (hasMore && !hits.isEmpty()) {
+            EventDistance last = hits.get(hits.size() - 1);
+            next = new EventDistanceCursor(last.distanceKm(), last.id()).encode();
+        }
+        return new EventPageResponse(items, next);
+    }
+
+    /**
+     * One of the limited export slots; close it when the export finishes.
+     */
+    public interface ExportSlot extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Reserve an export slot before writing anything to the client.
+     * Each running export holds a connection for its whole duration, so only a few may
+     * run at once.
+     *
+     * @return slot to close when the export ends
+     * @throws ServiceUnavailableException if every slot is taken
+     */
+    public ExportSlot reserveExport() {
+        if (!exportPermits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports in progress. Please try again later.");
+        }
+        return exportPermits::release;
+    }
+
+    /**
+     * Stream every upcoming event, for export and feed consumers.
+     * Callers must hold a slot from {@link #reserveExport()}.
+     *
+     * @param sink receives each event as soon as it is mapped
+     * @throws IOException if the sink fails
+     */
+    public void streamUpcomingEvents(EventViewLoader.EventSink sink) throws IOException {
+        eventViewLoader.streamUpcoming(LocalDateTime.now(), Instant.now().plus(exportTimeout), sink);
+    }
+
+    /**
+     * Load a single event, skipping the collection fetches and mapping when the client's
+     * copy is still current. The event, its owner and both collections are second-level
+     * cached, so a warm read issues no SQL.
+     * Concurrent requests for the same event and If-None-Match share one load and one
+     * mapped response; waiting callers hold no connection or transaction. If the database
+     * fails or its circuit breaker is open, the last loaded copy is returned, marked stale.
+     * An event missing from the read replica is looked up again on the primary, so an event
+     * is readable right after {@link #createEvent} even while the replica lags.
+     *
+     * @param id event id
+     * @param ifNoneMatch If-None-Match header from the client, may be null
+     * @return the event with its entity tag, or not modified
+     */
+    public Versioned<EventResponse> getEvent(UUID id, String ifNoneMatch) {
+        return staleEvents.read(id, ifNoneMatch, tag -> {
+            String key = id + "|" + (tag == null ? "" : tag.trim());
+            return eventLoads.execute(key, () -> {
+                try {
+                    return readOnlyTransaction.execute(status -> loadEvent(id, tag));
+                } catch (ResourceNotFoundException e) {
+                    return primaryTransaction.execute(status -> loadEvent(id, tag));
+                }
+            });
+        });
+    }
+
+    private Versioned<EventResponse> loadEvent(UUID id, String ifNoneMatch) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
-        return toResponse(event);
+        String etag = EventETags.forEvent(event.getId(), event.getUpdatedAt(), s3Service.urlEpoch());
+        if (EventETags.matches(ifNoneMatch, etag)) {
+            return Versioned.notModified(etag);
+        }
+        // Lazy initialization goes through the collection caches before falling back to
+        // one select per collection, never a genres x performers join
+        Hibernate.initialize(event.getGenres());
+        Hibernate.initialize(event.getPerformers());
+        return new Versioned<>(toResponse(event), etag);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new ValidationException("limit", "must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
     }
 
     private EventResponse toResponse(Event event) {
@@ -98,6 +432,8 @@ public class EventService {
         response.setCapacity(event.getCapacity());
         response.setAllAges(event.getAllAges());
         response.setAlcohol(event.getAlcohol());
+        response.setLatitude(event.getLatitude());
+        response.setLongitude(event.getLongitude());
         response.setAgeRestriction(event.getAgeRestriction());
         if (event.getGenres() != null) {
             List<String> genreLabels = event.getGenres().stream()
@@ -176,6 +512,22 @@ public class EventService {
         event.getPerformers().addAll(eventPerformers);
     }
 
+    /**
+     * Use the coordinates from the request when both are given, otherwise geocode the
+     * venue address. Events that cannot be located are stored without coordinates and
+     * are left out of nearby results.
+     */
+    private void applyLocation(Event event, EventRequest request) {
+        Optional<GeoPoint> location = request.getLatitude() != null && request.getLongitude() != null
+                ? Optional.of(new GeoPoint(request.getLatitude(), request.getLongitude()))
+                : geocoder.geocode(event.getVenueAddress());
+        location.ifPresent(point -> {
+            event.setLatitude(point.latitude());
+            event.setLongitude(point.longitude());
+            event.setGeohash(Geohash.encode(point.latitude(), point.longitude(), Geohash.MAX_PRECISION));
+        });
+    }
+
     private String trimToNull(String value) {
         if (value == null) {
             return null;
@@ -183,4 +535,10 @@ public class EventService {
         String trimmed = value.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
+
+    /**
+     * Identifies a listing request independently of If-None-Match.
+     */
+    private record PageKey(EventCursor after, int pageSize, EventFilter filter) {
+    }
 }
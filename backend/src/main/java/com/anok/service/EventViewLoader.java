@@ -0,0 +1,192 @@
+package com.anok.service;
+
+import com.anok.dto.EventResponse;
+import com.anok.repository.EventGenreRepository;
+import com.anok.repository.EventPerformerRepository;
+import com.anok.repository.EventRepository;
+import com.anok.repository.projection.EventGenreView;
+import com.anok.repository.projection.EventListView;
+import com.anok.repository.projection.EventPerformerView;
+import com.anok.repository.projection.EventVersion;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read model for event listings.
+ * Pages upcoming event ids by keyset and maps flat projections into EventResponse.
+ */
+@Component
+public class EventViewLoader {
+
+    /**
+     * Receives streamed events one at a time.
+     */
+    @FunctionalInterface
+    public interface EventSink {
+        void accept(EventResponse event) throws IOException;
+    }
+
+    private static final int STREAM_CHUNK_SIZE = 200;
+
+    private final EventRepository eventRepository;
+    private final EventGenreRepository eventGenreRepository;
+    private final EventPerformerRepository eventPerformerRepository;
+    private final S3Service s3Service;
+
+    public EventViewLoader(
+            EventRepository eventRepository,
+            EventGenreRepository eventGenreRepository,
+            EventPerformerRepository eventPerformerRepository,
+            S3Service s3Service
+    ) {
+        this.eventRepository = eventRepository;
+        this.eventGenreRepository = eventGenreRepository;
+        this.eventPerformerRepository = eventPerformerRepository;
+        this.s3Service = s3Service;
+    }
+
+    /**
+     * Ids and versions of events starting after {@code now}, positioned after {@code after}.
+     *
+     * @param now only events starting after this instant
+     * @param after last position already returned
+     * @param limit maximum number of rows
+     * @return versions ordered by (event_datetime, id)
+     */
+    public List<EventVersion> findUpcomingVersions(LocalDateTime now, EventCursor after, int limit) {
+        return eventRepository.findUpcomingVersionsAfter(now, after.eventDateTime(), after.id(), limit);
+    }
+
+    /**
+     * Build listing responses from flat projections, preserving the order of {@code ids}.
+     * Nothing here is a managed entity, so the persistence context stays empty.
+     */
+    public List<EventResponse> loadListViews(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, EventListView> byId = eventRepository.findListViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventListView::id, Function.identity()));
+        return toResponses(ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Stream every upcoming event to {@code sink}, in (event_datetime, id) order.
+     * Rows come from a forward-only cursor and are mapped in small chunks, so memory use
+     * does not grow with the number of matching events.
+     * The transaction timeout bounds each statement, and the deadline bounds the whole
+     * export including time spent writing to a slow client.
+     *
+     * @param now only events starting after this instant
+     * @param deadline abort once this instant has passed
+     * @param sink receives each mapped event
+     * @throws IOException if the sink fails, e.g. the client disconnected
+     * @throws QueryTimeoutException if the deadline passes
+     */
+    @Transactional(readOnly = true, timeoutString = "${events.export.timeout-seconds:120}")
+    public void streamUpcoming(LocalDateTime now, Instant deadline, EventSink sink) throws IOException {
+        List<EventListView> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<EventListView> views = eventRepository.streamUpcomingViews(now)) {
+            Iterator<EventListView> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    if (Instant.now().isAfter(deadline)) {
+                        throw new QueryTimeoutException("Event export exceeded its time limit");
+                    }
+                    emit(chunk, sink);
+                }
+            }
+        }
+        emit(chunk, sink);
+    }
+
+    private void emit(List<EventListView> chunk, EventSink sink) throws IOException {
+        for (EventResponse response : toResponses(chunk)) {
+            sink.accept(response);
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Map views to responses, loading genres and performers for all of them with one
+     * IN (...) query each.
+     */
+    private List<EventResponse> toResponses(List<EventListView> views) {
+        if (views.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = views.stream().map(EventListView::id).collect(Collectors.toList());
+        Map<UUID, List<EventGenreView>> genres = eventGenreRepository.findViewsByEventIdIn(ids).stream()
+                .collect(Collectors.groupingBy(EventGenreView::eventId));
+        Map<UUID, List<EventPerformerView>> performers = eventPerformerRepository.findViewsByEventIdIn(ids).stream()
+                .collect(Collectors.groupingBy(EventPerformerView::eventId));
+
+        return views.stream()
+                .map(view -> toResponse(
+                        view,
+                        genres.getOrDefault(view.id(), List.of()),
+                        performers.getOrDefault(view.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private EventResponse toResponse(
+            EventListView view,
+            List<EventGenreView> genres,
+            List<EventPerformerView> performers
+    ) {
+        EventResponse response = new EventResponse();
+        response.setId(view.id());
+        response.setTitle(view.title());
+        response.setFlyerUrl(s3Service.generateSignedGetUrl(view.flyerUrl()));
+        response.setEventDate(view.eventDate());
+        response.setStartTime(view.startTime());
+        response.setEventLengthHours(view.eventLengthHours());
+        response.setEndTime(view.endTime());
+        response.setLive(view.live());
+        response.setEventDateTime(view.eventDateTime());
+        response.setVenueName(view.venueName());
+        response.setVenueAddress(view.venueAddress());
+        response.setAbout(view.about());
+        response.setCapacity(view.capacity());
+        response.setAllAges(view.allAges());
+        response.setAlcohol(view.alcohol());
+        response.setLatitude(view.latitude());
+        response.setLongitude(view.longitude());
+        response.setAgeRestriction(view.ageRestriction());
+        response.setGenres(genres.stream()
+                .map(EventGenreView::label)
+                .collect(Collectors.toList()));
+        response.setPerformers(performers.stream()
+                .map(performer -> {
+                    EventResponse.PerformerResponse dto = new EventResponse.PerformerResponse();
+                    dto.setId(performer.id());
+                    dto.setPerformerName(performer.performerName());
+                    dto.setGenre1(performer.genre1());
+                    dto.setGenre2(performer.genre2());
+                    dto.setPerformerLink(performer.performerLink());
+                    return dto;
+                })
+                .collect(Collectors.toList()));
+        response.setOwnerId(view.ownerId());
+        response.setOwnerName(view.ownerName());
+        return response;
+    }
+}
@@ -0,0 +1,86 @@
+package com.anok.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local stand-in geocoder backed by a lookup file, for development and offline deployments.
+ * Each non-comment line is {@code address,latitude,longitude}; the address may itself
+ * contain commas, since the coordinates are read from the end of the line.
+ * Addresses are matched ignoring case and repeated whitespace.
+ */
+@Component
+@ConditionalOnProperty(name = "events.geocoder.type", havingValue = "file", matchIfMissing = true)
+public class FileGeocoder implements Geocoder {
+
+    private static final Logger log = LoggerFactory.getLogger(FileGeocoder.class);
+
+    private final Map<String, GeoPoint> addresses;
+
+    public FileGeocoder(@Value("${events.geocoder.file:classpath:geocoder/addresses.csv}") Resource file) {
+        this.addresses = load(file);
+    }
+
+    @Override
+    public Optional<GeoPoint> geocode(String address) {
+        if (address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(addresses.get(normalize(address)));
+    }
+
+    private static Map<String, GeoPoint> load(Resource file) {
+        Map<String, GeoPoint> loaded = new HashMap<>();
+        if (!file.exists()) {
+            log.warn("Geocoder file {} not found; addresses will not be geocoded", file.getDescription());
+            return loaded;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                int lngSplit = trimmed.lastIndexOf(',');
+                int latSplit = lngSplit > 0 ? trimmed.lastIndexOf(',', lngSplit - 1) : -1;
+                if (latSplit <= 0) {
+                    log.warn("Skipping malformed geocoder line {}", number);
+                    continue;
+                }
+                try {
+                    GeoPoint point = new GeoPoint(
+                            Double.parseDouble(trimmed.substring(latSplit + 1, lngSplit).trim()),
+                            Double.parseDouble(trimmed.substring(lngSplit + 1).trim()));
+                    loaded.put(normalize(trimmed.substring(0, latSplit)), point);
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping geocoder line {} with invalid coordinates", number);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read geocoder file " + file.getDescription(), e);
+        }
+        log.info("Loaded {} geocoded addresses", loaded.size());
+        return loaded;
+    }
+
+    private static String normalize(String address) {
+        return address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
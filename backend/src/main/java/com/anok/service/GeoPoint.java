@@ -0,0 +1,7 @@
+package com.anok.service;
+
+/**
+ * A WGS84 coordinate in decimal degrees.
+ */
+public record GeoPoint(double latitude, double longitude) {
+}
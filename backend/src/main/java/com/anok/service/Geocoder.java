@@ -0,0 +1,16 @@
+package com.anok.service;
+
+import java.util.Optional;
+
+/**
+ * Resolves a free-text venue address to coordinates.
+ * Implementations are selected with {@code events.geocoder.type}.
+ */
+public interface Geocoder {
+
+    /**
+     * @param address venue address as entered by the organizer
+     * @return coordinates, or empty if the address is unknown
+     */
+    Optional<GeoPoint> geocode(String address);
+}
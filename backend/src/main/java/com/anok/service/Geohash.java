@@ -0,0 +1,126 @@
+package com.anok.service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash encoding and radius cover computation.
+ * A geohash prefix names a lat/lng cell, and every point inside it has a geohash starting
+ * with that prefix, so "points near X" becomes a handful of btree range scans.
+ */
+final class Geohash {
+
+    static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    /**
+     * Shortest north-south extent of one degree of latitude, in km; keeps covers conservative.
+     */
+    private static final double KM_PER_DEGREE_LAT = 110.574;
+
+    /**
+     * East-west extent of one degree of longitude at the equator, in km, on the
+     * 6371.0088 km sphere the distance filter uses; the ellipsoid's 111.320 would leave
+     * points at the edge of the radius outside the cover.
+     */
+    private static final double KM_PER_DEGREE_LNG = 111.195;
+
+    private Geohash() {
+    }
+
+    static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Geohash prefixes whose cells together contain every point within {@code radiusKm}
+     * of the center.
+     * Picks the longest prefix length whose cells are at least as large as the radius in
+     * both directions, then takes the cells of the center and its eight offsets by one
+     * radius: an interval of 2r touched by cells no smaller than r always contains one of
+     * its two ends or its midpoint in each touched cell.
+     *
+     * @param center query point
+     * @param radiusKm search radius
+     * @return up to nine prefixes, or an empty set if the area is too large to narrow down
+     */
+    static Set<String> cover(GeoPoint center, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double farthestLat = Math.min(89.999, Math.abs(center.latitude()) + dLat);
+        double dLng = radiusKm / (KM_PER_DEGREE_LNG * Math.cos(Math.toRadians(farthestLat)));
+
+        int precision = 0;
+        for (int p = MAX_PRECISION; p >= 1; p--) {
+            if (latSpan(p) >= dLat && lngSpan(p) >= dLng) {
+                precision = p;
+                break;
+            }
+        }
+        Set<String> prefixes = new LinkedHashSet<>();
+        if (precision == 0) {
+            return prefixes;
+        }
+
+        for (double latOffset : new double[]{-dLat, 0, dLat}) {
+            double lat = Math.max(-90, Math.min(90, center.latitude() + latOffset));
+            for (double lngOffset : new double[]{-dLng, 0, dLng}) {
+                prefixes.add(encode(lat, wrapLongitude(center.longitude() + lngOffset), precision));
+            }
+        }
+        return prefixes;
+    }
+
+    private static double latSpan(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    private static double lngSpan(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
@@ -1,18 +1,33 @@
 package com.anok.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -23,6 +38,10 @@ import java.util.stream.Collectors;
 @Service
 public class JwtService {
 
+    private static final String ROLES_CLAIM = "roles";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${security.jwt.secret}")
     private String secret;
 
@@ -32,6 +51,87 @@ public class JwtService {
     @Value("${security.jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${security.jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    @Value("${security.jwt.verified-cache.ttl-ms:300000}")
+    private long verifiedCacheTtlMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+
+    private JwtParser parser;
+
+    /**
+     * Verified claims by SHA-256 of the token. An entry never outlives the token's exp.
+     */
+    private Cache<String, Claims> verifiedTokens;
+
+    /**
+     * Decode the secret and build the parser once; both are immutable and thread-safe.
+     */
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
+        this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+    }
+
+    /**
+     * Verify a token once and return its claims.
+     * Signature and expiration are checked on first sight; repeat presentations of the
+     * same token are served from the verified-claims cache until the cache TTL or exp.
+     *
+     * @param token JWT token
+     * @return verified claims
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or the signature is invalid
+     */
+    public Claims verify(String token) {
+        String cacheKey = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        verifiedTokens.put(cacheKey, claims);
+        return claims;
+    }
+
+    /**
+     * Drop a token from the verified-claims cache, e.g. after it was revoked.
+     *
+     * @param token JWT token
+     */
+    public void evict(String token) {
+        verifiedTokens.invalidate(hash(token));
+    }
+
     /**
      * Extract username (email) from JWT token.
      *
@@ -57,18 +157,61 @@ public class JwtService {
 
     /**
      * Generate access token for a user.
+     * Carries the roles, user id and token version so requests can be authenticated
+     * without loading the user.
      *
      * @param userDetails user details
+     * @param userId user id
+     * @param tokenVersion current token version of the user
      * @return JWT access token
      */
-    public String generateAccessToken(UserDetails userDetails) {
+    public String generateAccessToken(UserDetails userDetails, UUID userId, int tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", userDetails.getAuthorities().stream()
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        claims.put(USER_ID_CLAIM, userId.toString());
+        claims.put(TOKEN_VERSION_CLAIM, tokenVersion);
         return buildToken(claims, userDetails, jwtExpiration);
     }
 
+    /**
+     * Extract the user id claim.
+     *
+     * @param claims verified claims
+     * @return user id, or null for tokens issued without one
+     */
+    public UUID extractUserId(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        return userId == null ? null : UUID.fromString(userId);
+    }
+
+    /**
+     * Extract the token version claim.
+     *
+     * @param claims verified claims
+     * @return token version, or null for tokens issued without one
+     */
+    public Integer extractTokenVersion(Claims claims) {
+        return claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+    }
+
+    /**
+     * Build a principal from verified claims without touching the database.
+     *
+     * @param claims verified claims
+     * @return user details with the roles carried by the token
+     */
+    public UserDetails toPrincipal(Claims claims) {
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null
+                ? List.of()
+                : roles.stream()
+                        .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                        .collect(Collectors.toList());
+        return new org.springframework.security.core.userdetails.User(claims.getSubject(), "", authorities);
+    }
+
     /**
      * Generate refresh token for a user.
      *
@@ -97,7 +240,7 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -109,28 +252,42 @@ public class JwtService {
      * @return true if token is valid
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
     /**
-     * Check if token is expired.
+     * Validate already verified claims against the user.
      *
-     * @param token JWT token
-     * @return true if expired
+     * @param claims claims returned by {@link #verify(String)}
+     * @param userDetails user details
+     * @return true if the claims belong to the user and have not expired
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isExpired(claims);
     }
 
-    /**
-     * Extract expiration date from token.
-     *
-     * @param token JWT token
-     * @return expiration date
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    private long remainingNanos(Claims claims) {
+        long ttlMs = verifiedCacheTtlMs;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            ttlMs = Math.min(ttlMs, expiration.getTime() - System.currentTimeMillis());
+        }
+        return Math.max(0, ttlMs) * 1_000_000L;
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
@@ -140,21 +297,7 @@ public class JwtService {
      * @return all claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Get the signing key for JWT.
-     *
-     * @return secret key
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return verify(token);
     }
 
     /**
@@ -0,0 +1,82 @@
+package com.anok.service;
+
+import com.anok.dto.NameMatchResponse;
+import com.anok.exception.ValidationException;
+import com.anok.repository.EventPerformerRepository;
+import com.anok.repository.EventRepository;
+import com.anok.repository.projection.NameMatch;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Typo-tolerant lookup of performer and venue names using pg_trgm similarity.
+ * Results are names, not events; clients follow up with the exact-name filters on GET /events.
+ */
+@Service
+public class NameLookupService {
+
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private final EventRepository eventRepository;
+    private final EventPerformerRepository eventPerformerRepository;
+
+    public NameLookupService(EventRepository eventRepository, EventPerformerRepository eventPerformerRepository) {
+        this.eventRepository = eventRepository;
+        this.eventPerformerRepository = eventPerformerRepository;
+    }
+
+    /**
+     * Find names similar to {@code query}.
+     *
+     * @param query possibly misspelled name
+     * @param type "performer", "venue", or null for both
+     * @param limit maximum number of matches, or null for the default
+     * @return matches, most similar first
+     */
+    public List<NameMatchResponse> lookup(String query, String type, Integer limit) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.length() < MIN_QUERY_LENGTH) {
+            throw new ValidationException("q", "must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("q", "must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit != null && limit < 1) {
+            throw new ValidationException("limit", "must be at least 1");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        boolean performers = type == null || type.isBlank() || NameMatchResponse.PERFORMER.equals(type);
+        boolean venues = type == null || type.isBlank() || NameMatchResponse.VENUE.equals(type);
+        if (!performers && !venues) {
+            throw new ValidationException("type", "must be 'performer' or 'venue'");
+        }
+
+        List<NameMatchResponse> matches = new ArrayList<>();
+        if (performers) {
+            for (NameMatch match : eventPerformerRepository.findSimilarNames(trimmed, size)) {
+                matches.add(toResponse(match, NameMatchResponse.PERFORMER));
+            }
+        }
+        if (venues) {
+            for (NameMatch match : eventRepository.findSimilarVenueNames(trimmed, size)) {
+                matches.add(toResponse(match, NameMatchResponse.VENUE));
+            }
+        }
+
+        matches.sort(Comparator.comparing(NameMatchResponse::getScore).reversed()
+                .thenComparing(Comparator.comparing(NameMatchResponse::getEvents).reversed())
+                .thenComparing(NameMatchResponse::getName));
+        return matches.size() > size ? matches.subList(0, size) : matches;
+    }
+
+    private NameMatchResponse toResponse(NameMatch match, String type) {
+        return new NameMatchResponse(match.getName(), type, match.getScore(), match.getEvents());
+    }
+}
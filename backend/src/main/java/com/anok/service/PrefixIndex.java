@@ -0,0 +1,139 @@
+package com.anok.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prefix index over terms, ranked by frequency.
+ * Terms live in a concurrent sorted map keyed by normalized form, so a prefix is a
+ * contiguous sub-map and the most frequent entries in it are selected with a bounded heap.
+ * Counts are updated in place, one map entry per term, and lookups run concurrently with
+ * updates without locking. Each spelling of a term keeps its own count; the term is
+ * displayed in its most frequent spelling and ranked by the sum.
+ */
+final class PrefixIndex {
+
+    /**
+     * A suggested term and its frequency.
+     */
+    record Suggestion(String value, long count) {
+    }
+
+    private final ConcurrentSkipListMap<String, Term> terms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Build an index from term counts.
+     *
+     * @param termCounts raw terms and how often each is used
+     * @return new index
+     */
+    static PrefixIndex of(Map<String, Long> termCounts) {
+        PrefixIndex index = new PrefixIndex();
+        index.add(termCounts);
+        return index;
+    }
+
+    /**
+     * Add {@code termCounts} to the existing counts.
+     *
+     * @param termCounts raw terms and how often each is newly used
+     */
+    void add(Map<String, Long> termCounts) {
+        for (Map.Entry<String, Long> term : termCounts.entrySet()) {
+            String value = display(term.getKey());
+            if (value != null) {
+                terms.computeIfAbsent(normalize(value), key -> new Term()).add(value, term.getValue());
+            }
+        }
+    }
+
+    /**
+     * The most frequent terms starting with {@code prefix}, ignoring case.
+     *
+     * @param prefix typed text
+     * @param limit maximum number of suggestions
+     * @return suggestions, most frequent first
+     */
+    List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+
+        // Min-heap on count keeps the best `limit` entries seen so far
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingLong(Candidate::count).thenComparing(Candidate::key, Comparator.reverseOrder()));
+        for (Map.Entry<String, Term> entry : terms.subMap(key, true, key + Character.MAX_VALUE, false).entrySet()) {
+            Suggestion suggestion = entry.getValue().suggestion();
+            best.offer(new Candidate(entry.getKey(), suggestion.value(), suggestion.count()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Candidate candidate = best.poll();
+            suggestions.add(new Suggestion(candidate.value(), candidate.count()));
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
+    }
+
+    /**
+     * Number of distinct terms; walks the whole index.
+     */
+    int size() {
+        return terms.size();
+    }
+
+    static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String display(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim().replaceAll("\\s+", " ");
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record Candidate(String key, String value, long count) {
+    }
+
+    /**
+     * Counts per spelling of one normalized term.
+     */
+    private static final class Term {
+
+        private final ConcurrentHashMap<String, LongAdder> spellings = new ConcurrentHashMap<>(2);
+
+        void add(String value, long count) {
+            spellings.computeIfAbsent(value, v -> new LongAdder()).add(count);
+        }
+
+        /**
+         * Most frequent spelling, ties broken alphabetically, with the total over all spellings.
+         */
+        Suggestion suggestion() {
+            long total = 0;
+            String bestValue = null;
+            long bestCount = -1;
+            for (Map.Entry<String, LongAdder> spelling : spellings.entrySet()) {
+                long count = spelling.getValue().sum();
+                total += count;
+                if (count > bestCount || (count == bestCount && spelling.getKey().compareTo(bestValue) < 0)) {
+                    bestValue = spelling.getKey();
+                    bestCount = count;
+                }
+            }
+            return new Suggestion(bestValue, total);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.anok.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -25,6 +29,19 @@ public class S3Service {
     private final Duration presignDuration;
     private final String cloudFrontDomain;
     private final boolean cloudFrontEnabled;
+    private final long urlEpochMillis;
+    private final Duration minimumUrlValidity;
+
+    /**
+     * Presigned GET URLs by object key. Entries expire a safety margin before the
+     * signature does, so every URL handed out stays valid for at least that margin.
+     */
+    private final Cache<String, String> presignedUrls;
+
+    /**
+     * Object key (or "" when the URL is not ours) by stored flyer URL, to skip re-parsing.
+     */
+    private final Cache<String, String> objectKeys;
 
     public S3Service(
             @Value("${aws.s3.bucket}") String bucketName,
@@ -32,7 +49,10 @@ public class S3Service {
             @Value("${aws.s3.prefix}") String keyPrefix,
             @Value("${aws.s3.presign-expiration-minutes}") long presignExpirationMinutes,
             @Value("${aws.cloudfront.domain:}") String cloudFrontDomain,
-            @Value("${aws.cloudfront.enabled:false}") boolean cloudFrontEnabled
+            @Value("${aws.cloudfront.enabled:false}") boolean cloudFrontEnabled,
+            @Value("${aws.s3.presign-cache.max-size:10000}") long presignCacheMaxSize,
+            @Value("${aws.s3.presign-cache.safety-margin-seconds:300}") long presignSafetyMarginSeconds,
+            MeterRegistry meterRegistry
     ) {
         this.bucketName = bucketName;
         this.keyPrefix = keyPrefix;
@@ -42,6 +62,26 @@ public class S3Service {
         this.s3Presigner = S3Presigner.builder()
                 .region(Region.of(region))
                 .build();
+
+        Duration cacheTtl = presignDuration.minusSeconds(presignSafetyMarginSeconds);
+        if (cacheTtl.isNegative() || cacheTtl.isZero()) {
+            cacheTtl = presignDuration.dividedBy(2);
+        }
+        this.presignedUrls = Caffeine.newBuilder()
+                .maximumSize(presignCacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        // Cached URLs keep at least (duration - cacheTtl) of validity; rotating the epoch at
+        // half that leaves room for copies held in the listing snapshot as well
+        this.minimumUrlValidity = presignDuration.minus(cacheTtl);
+        this.urlEpochMillis = Math.max(1000L, minimumUrlValidity.toMillis() / 2);
+        this.objectKeys = Caffeine.newBuilder()
+                .maximumSize(presignCacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, presignedUrls, "s3.presigned-urls");
+        CaffeineCacheMetrics.monitor(meterRegistry, objectKeys, "s3.object-keys");
     }
 
     public UploadPresign createUploadPresign(String originalFilename, String contentType) {
@@ -80,8 +120,11 @@ public class S3Service {
             return "";
         }
 
-        String key = extractKey(trimmed);
-        if (key == null || key.isBlank()) {
+        String key = objectKeys.get(trimmed, url -> {
+            String extracted = extractKey(url);
+            return extracted == null ? "" : extracted;
+        });
+        if (key.isBlank()) {
             return trimmed;
         }
 
@@ -91,22 +134,40 @@ public class S3Service {
                 return "https://" + cloudFrontDomain + "/" + key;
             }
 
-            // Fallback to presigned S3 URL
-            PresignedGetObjectRequest presigned = s3Presigner.presignGetObject(
-                    GetObjectPresignRequest.builder()
-                            .signatureDuration(presignDuration)
-                            .getObjectRequest(GetObjectRequest.builder()
-                                    .bucket(bucketName)
-                                    .key(key)
-                                    .build())
-                            .build()
-            );
-            return presigned.url().toString();
+            // Fallback to presigned S3 URL, reusing one that is still comfortably valid
+            return presignedUrls.get(key, this::presignGet);
         } catch (Exception e) {
             return trimmed;
         }
     }
 
+    /**
+     * Counter that advances before any flyer URL handed out earlier can expire.
+     * Mixed into entity tags so a client holding a cached representation revalidates,
+     * and receives fresh URLs, in time. Constant when URLs do not expire.
+     *
+     * @return current URL epoch
+     */
+    public long urlEpoch() {
+        if (cloudFrontEnabled && cloudFrontDomain != null && !cloudFrontDomain.isBlank()) {
+            return 0L;
+        }
+        return System.currentTimeMillis() / urlEpochMillis;
+    }
+
+    private String presignGet(String key) {
+        PresignedGetObjectRequest presigned = s3Presigner.presignGetObject(
+                GetObjectPresignRequest.builder()
+                        .signatureDuration(presignDuration)
+                        .getObjectRequest(GetObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .build())
+                        .build()
+        );
+        return presigned.url().toString();
+    }
+
     private String extractKey(String url) {
         try {
             if (!url.startsWith("http")) {
@@ -137,6 +198,16 @@ public class S3Service {
         return presignDuration;
     }
 
+    /**
+     * How long any flyer URL returned by this service is guaranteed to stay valid after it
+     * was returned. Responses holding such URLs must not be reused for longer.
+     *
+     * @return remaining validity of a reused presigned URL at the moment it is handed out
+     */
+    public Duration minimumUrlValidity() {
+        return minimumUrlValidity;
+    }
+
     @PreDestroy
     public void close() {
         s3Presigner.close();
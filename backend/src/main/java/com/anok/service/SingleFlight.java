@@ -0,0 +1,90 @@
+package com.anok.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution.
+ * The first caller for a key runs the supplier; callers arriving while it runs wait for
+ * and share its result or exception. Nothing is cached: once the call finishes the next
+ * caller starts a new one.
+ * Publishes {@code <name>.calls} tagged {@code result=leader|coalesced} and an
+ * {@code <name>.in-flight} gauge.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder(name + ".calls")
+                .tag("result", "leader")
+                .description("Calls that executed the load")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(name + ".calls")
+                .tag("result", "coalesced")
+                .description("Calls that shared a load already in flight")
+                .register(meterRegistry);
+        Gauge.builder(name + ".in-flight", inFlight, ConcurrentMap::size)
+                .description("Keys currently being loaded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code loader} for {@code key}, or join the run already in progress.
+     *
+     * @param key load key
+     * @param loader computes the value; exceptions propagate to every waiting caller
+     * @return the shared value
+     */
+    V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared load", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Shared load was cancelled", e);
+        } catch (ExecutionException e) {
+            // Rethrow the leader's exception as-is so it maps to the same HTTP status
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
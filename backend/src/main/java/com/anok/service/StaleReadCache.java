@@ -0,0 +1,130 @@
+package com.anok.service;
+
+import com.anok.exception.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Last good response per key, served when the database cannot answer.
+ * Every successful load is remembered for up to {@code maxStaleMs}. If a load fails with
+ * a database error the remembered response is returned instead (stale-if-error); while
+ * the {@link DatabaseCircuitBreaker} is open it is returned without trying the database,
+ * and the breaker's probe refreshes it in the background (stale-while-revalidate).
+ * Responses served this way are marked with {@link Versioned#staleAge()}.
+ * Publishes {@code <name>.stale} counters tagged {@code reason=error|open}.
+ */
+final class StaleReadCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleReadCache.class);
+
+    private final DatabaseCircuitBreaker breaker;
+    private final Cache<K, Entry<V>> entries;
+    private final Counter staleOnError;
+    private final Counter staleWhileOpen;
+
+    StaleReadCache(String name, DatabaseCircuitBreaker breaker, long maxSize, long maxStaleMs,
+                   MeterRegistry meterRegistry) {
+        this.breaker = breaker;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(maxStaleMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, name);
+        this.staleOnError = Counter.builder(name + ".stale")
+                .tag("reason", "error")
+                .description("Stale responses served because the database call failed")
+                .register(meterRegistry);
+        this.staleWhileOpen = Counter.builder(name + ".stale")
+                .tag("reason", "open")
+                .description("Stale responses served while the circuit breaker was open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load {@code key} from the database, falling back to the last good response.
+     *
+     * @param key cache key; must not depend on {@code ifNoneMatch}
+     * @param ifNoneMatch If-None-Match header from the client, may be null
+     * @param loader loads the response for a given If-None-Match value
+     * @return fresh or stale response
+     * @throws ServiceUnavailableException if the breaker is open and nothing is cached
+     */
+    Versioned<V> read(K key, String ifNoneMatch, Function<String, Versioned<V>> loader) {
+        Entry<V> entry = entries.getIfPresent(key);
+        DatabaseCircuitBreaker.Permit permit = breaker.acquire();
+        if (permit == DatabaseCircuitBreaker.Permit.DENIED) {
+            if (entry == null) {
+                throw new ServiceUnavailableException("Event data is temporarily unavailable");
+            }
+            staleWhileOpen.increment();
+            return serveStale(entry, ifNoneMatch);
+        }
+        if (permit == DatabaseCircuitBreaker.Permit.PROBE && entry != null) {
+            breaker.probeAsync(() -> revalidate(key, loader));
+            staleWhileOpen.increment();
+            return serveStale(entry, ifNoneMatch);
+        }
+
+        long start = System.nanoTime();
+        Versioned<V> result;
+        try {
+            result = loader.apply(ifNoneMatch);
+        } catch (RuntimeException e) {
+            breaker.record(permit, System.nanoTime() - start, e);
+            if (entry == null || !DatabaseCircuitBreaker.isDatabaseFailure(e)) {
+                throw e;
+            }
+            log.debug("Serving stale response for {}: {}", key, e.getMessage());
+            staleOnError.increment();
+            return serveStale(entry, ifNoneMatch);
+        }
+        breaker.record(permit, System.nanoTime() - start, null);
+        remember(key, entry, result);
+        return result;
+    }
+
+    private void revalidate(K key, Function<String, Versioned<V>> loader) {
+        long start = System.nanoTime();
+        try {
+            Versioned<V> result = loader.apply(null);
+            breaker.record(DatabaseCircuitBreaker.Permit.PROBE, System.nanoTime() - start, null);
+            remember(key, null, result);
+        } catch (RuntimeException e) {
+            breaker.record(DatabaseCircuitBreaker.Permit.PROBE, System.nanoTime() - start, e);
+            if (!DatabaseCircuitBreaker.isDatabaseFailure(e)) {
+                entries.invalidate(key);
+            }
+        }
+    }
+
+    private void remember(K key, Entry<V> previous, Versioned<V> result) {
+        long now = System.currentTimeMillis();
+        if (!result.isNotModified()) {
+            entries.put(key, new Entry<>(result, now));
+        } else if (previous != null && previous.response().etag().equals(result.etag())) {
+            // The remembered body is still current
+            entries.put(key, new Entry<>(previous.response(), now));
+        }
+    }
+
+    private Versioned<V> serveStale(Entry<V> entry, String ifNoneMatch) {
+        Duration age = Duration.ofMillis(Math.max(0, System.currentTimeMillis() - entry.loadedAtMillis()));
+        String etag = entry.response().etag();
+        if (EventETags.matches(ifNoneMatch, etag)) {
+            return Versioned.<V>notModified(etag).stale(age);
+        }
+        return entry.response().stale(age);
+    }
+
+    private record Entry<V>(Versioned<V> response, long loadedAtMillis) {
+    }
+}
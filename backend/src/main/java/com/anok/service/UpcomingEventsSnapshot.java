@@ -0,0 +1,209 @@
+package com.anok.service;
+
+import com.anok.dto.EventPageResponse;
+import com.anok.dto.EventResponse;
+import com.anok.repository.projection.EventVersion;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Application-level snapshot of the upcoming events listing.
+ * Rebuilt on a background thread on a fixed interval and whenever an event is created;
+ * readers page through an immutable list without touching the database.
+ * Events that have already started are skipped at read time, so a snapshot never
+ * serves a past event even between rebuilds.
+ */
+@Component
+public class UpcomingEventsSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(UpcomingEventsSnapshot.class);
+
+    private static final int BUILD_BATCH_SIZE = 500;
+
+    private final EventViewLoader eventViewLoader;
+    private final S3Service s3Service;
+    private final boolean enabled;
+    private final long refreshIntervalMs;
+    private final long maxStalenessMs;
+    private final int maxEvents;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "upcoming-events-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile Snapshot current;
+
+    public UpcomingEventsSnapshot(
+            EventViewLoader eventViewLoader,
+            S3Service s3Service,
+            @Value("${events.snapshot.enabled:true}") boolean enabled,
+            @Value("${events.snapshot.refresh-interval-ms:60000}") long refreshIntervalMs,
+            @Value("${events.snapshot.max-staleness-ms:120000}") long maxStalenessMs,
+            @Value("${events.snapshot.max-events:5000}") int maxEvents
+    ) {
+        this.eventViewLoader = eventViewLoader;
+        this.s3Service = s3Service;
+        this.enabled = enabled;
+        this.refreshIntervalMs = refreshIntervalMs;
+        // Never serve a snapshot older than its presigned flyer URLs remain valid
+        this.maxStalenessMs = Math.min(maxStalenessMs, s3Service.minimumUrlValidity().toMillis());
+        this.maxEvents = maxEvents;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        requestRebuild();
+        executor.scheduleWithFixedDelay(this::requestRebuild,
+                refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Serve a page from the snapshot.
+     *
+     * @param now current time; events starting at or before it are skipped
+     * @param after last position already returned
+     * @param pageSize maximum number of events
+     * @return the page and its entity tag, or empty if there is no usable snapshot or it
+     *         does not cover the page
+     */
+    public Optional<Versioned<EventPageResponse>> page(LocalDateTime now, EventCursor after, int pageSize) {
+        Snapshot snapshot = current;
+        if (snapshot == null || System.currentTimeMillis() - snapshot.builtAtMillis() > maxStalenessMs) {
+            return Optional.empty();
+        }
+
+        List<EventResponse> events = snapshot.events();
+        int start = Math.max(
+                firstAfter(events, new EventCursor(now, EventCursor.MIN_ID)),
+                firstAfter(events, after));
+        int end = Math.min(start + pageSize, events.size());
+        if (!snapshot.complete() && end >= events.size()) {
+            // The page reaches past what the snapshot holds
+            return Optional.empty();
+        }
+
+        List<EventResponse> items = events.subList(start, end);
+        String next = null;
+        if (end < events.size() && !items.isEmpty()) {
+            EventResponse last = items.get(items.size() - 1);
+            next = new EventCursor(last.getEventDateTime(), last.getId()).encode();
+        }
+        List<EventVersion> versions = items.stream()
+                .map(item -> snapshot.versions().get(item.getId()))
+                .collect(Collectors.toList());
+        String etag = EventETags.forPage(versions, next != null, s3Service.urlEpoch());
+        return Optional.of(new Versioned<>(new EventPageResponse(items, next), etag));
+    }
+
+    /**
+     * Drop the current snapshot and rebuild it in the background.
+     * Readers fall back to the database until the rebuild lands.
+     */
+    public void invalidate() {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        current = null;
+        requestRebuild();
+    }
+
+    private void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildQueued.set(false);
+        long startedGeneration = generation.get();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            EventCursor after = new EventCursor(now, EventCursor.MIN_ID);
+            List<EventResponse> events = new ArrayList<>();
+            Map<UUID, EventVersion> versions = new HashMap<>();
+            boolean complete = false;
+            while (events.size() < maxEvents) {
+                int batch = Math.min(BUILD_BATCH_SIZE, maxEvents - events.size());
+                List<EventVersion> batchVersions = eventViewLoader.findUpcomingVersions(now, after, batch);
+                List<UUID> ids = new ArrayList<>(batchVersions.size());
+                for (EventVersion version : batchVersions) {
+                    ids.add(version.getId());
+                    versions.put(version.getId(), version);
+                }
+                events.addAll(eventViewLoader.loadListViews(ids));
+                if (ids.size() < batch) {
+                    complete = true;
+                    break;
+                }
+                EventResponse last = events.get(events.size() - 1);
+                after = new EventCursor(last.getEventDateTime(), last.getId());
+            }
+
+            // An invalidation during the build means this data may predate a write
+            if (generation.get() == startedGeneration) {
+                current = new Snapshot(List.copyOf(events), Map.copyOf(versions), complete,
+                        System.currentTimeMillis());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to rebuild upcoming events snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Index of the first event positioned strictly after {@code cursor}.
+     */
+    private static int firstAfter(List<EventResponse> events, EventCursor cursor) {
+        int low = 0;
+        int high = events.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            EventResponse event = events.get(mid);
+            if (cursor.compareTo(event.getEventDateTime(), event.getId()) >= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record Snapshot(
+            List<EventResponse> events,
+            Map<UUID, EventVersion> versions,
+            boolean complete,
+            long builtAtMillis
+    ) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.anok.service;
+
+import java.time.Duration;
+
+/**
+ * A response body paired with its entity tag.
+ * {@code body} is null when the caller already holds the current representation.
+ *
+ * @param body response body, or null if not modified
+ * @param etag quoted strong entity tag
+ * @param staleAge how long ago the body was loaded if it was served from the stale-read
+ *                 cache instead of the database, otherwise null
+ */
+public record Versioned<T>(T body, String etag, Duration staleAge) {
+
+    public Versioned(T body, String etag) {
+        this(body, etag, null);
+    }
+
+    public static <T> Versioned<T> notModified(String etag) {
+        return new Versioned<>(null, etag);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+
+    public boolean isStale() {
+        return staleAge != null;
+    }
+
+    /**
+     * @param age time since the body was loaded
+     * @return this result marked as served stale
+     */
+    public Versioned<T> stale(Duration age) {
+        return new Versioned<>(body, etag, age);
+    }
+}
@@ -0,0 +1,6 @@
+-- Composite index backing keyset pagination on GET /events.
+-- Matches ORDER BY event_datetime, id so each page is a bounded index range scan.
+CREATE INDEX IF NOT EXISTS idx_events_datetime_id ON events(event_datetime, id);
+
+-- Superseded by the composite index (a btree can be scanned in either direction)
+DROP INDEX IF EXISTS idx_events_event_datetime;
@@ -0,0 +1,6 @@
+-- Per-user token version for stateless JWT authentication.
+-- Access tokens carry the version they were issued with; bumping it revokes them.
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS token_version INT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN users.token_version IS 'Incremented to revoke all access tokens issued to the user';
@@ -0,0 +1,64 @@
+-- Full-text search over title, performer names, venue name and about.
+-- A generated column cannot read other tables, so performer names are denormalized
+-- into events.performer_names by statement-level triggers on event_performers and
+-- the tsvector is generated from columns of the events row only.
+
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS performer_names TEXT NOT NULL DEFAULT '';
+
+CREATE OR REPLACE FUNCTION refresh_event_performer_names()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE events e
+    SET performer_names = COALESCE((
+            SELECT string_agg(p.performer_name, ' ' ORDER BY p.created_at)
+            FROM event_performers p
+            WHERE p.event_id = e.id
+        ), '')
+    WHERE e.id IN (SELECT event_id FROM changed_performers);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- One trigger per operation: transition tables cannot be shared across events.
+-- Statement-level so a bulk insert or COPY rewrites each event once, not once per performer.
+CREATE TRIGGER refresh_event_performer_names_insert
+    AFTER INSERT ON event_performers
+    REFERENCING NEW TABLE AS changed_performers
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION refresh_event_performer_names();
+
+CREATE TRIGGER refresh_event_performer_names_update
+    AFTER UPDATE ON event_performers
+    REFERENCING NEW TABLE AS changed_performers
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION refresh_event_performer_names();
+
+CREATE TRIGGER refresh_event_performer_names_delete
+    AFTER DELETE ON event_performers
+    REFERENCING OLD TABLE AS changed_performers
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION refresh_event_performer_names();
+
+-- Backfill existing events
+UPDATE events e
+SET performer_names = p.names
+FROM (
+    SELECT event_id, string_agg(performer_name, ' ' ORDER BY created_at) AS names
+    FROM event_performers
+    GROUP BY event_id
+) p
+WHERE p.event_id = e.id;
+
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(performer_names, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(venue_name, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(about, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+
+COMMENT ON COLUMN events.performer_names IS 'Performer names for search, maintained by triggers on event_performers';
+COMMENT ON COLUMN events.search_vector IS 'Weighted full-text document: title and performers (A), venue (B), about (C)';
@@ -0,0 +1,20 @@
+-- Indexes backing the filters on GET /events.
+-- Each keeps (event_datetime, id) as trailing columns so a filtered keyset page is still
+-- a bounded index range scan in page order.
+
+-- isLive: equality on the leading column, then page order
+CREATE INDEX IF NOT EXISTS idx_events_live_datetime_id ON events(is_live, event_datetime, id);
+
+-- allAges / alcohol: partial indexes for the selective "true" side of each flag
+CREATE INDEX IF NOT EXISTS idx_events_all_ages_datetime_id ON events(event_datetime, id) WHERE all_ages;
+CREATE INDEX IF NOT EXISTS idx_events_alcohol_datetime_id ON events(event_datetime, id) WHERE alcohol;
+
+-- Venue name, matched case-insensitively
+CREATE INDEX IF NOT EXISTS idx_events_venue_lower_datetime_id ON events(lower(venue_name), event_datetime, id);
+
+-- Genre label: EXISTS probe answered from the index alone
+CREATE INDEX IF NOT EXISTS idx_event_genres_label_event_id ON event_genres(label, event_id);
+
+-- Performer name, matched case-insensitively
+CREATE INDEX IF NOT EXISTS idx_event_performers_name_lower_event_id
+    ON event_performers(lower(performer_name), event_id);
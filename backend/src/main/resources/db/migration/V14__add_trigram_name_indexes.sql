@@ -0,0 +1,9 @@
+-- Trigram indexes for typo-tolerant performer and venue lookup.
+-- pg_trgm lowercases before extracting trigrams, so matching is case-insensitive.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_event_performers_name_trgm
+    ON event_performers USING GIN (performer_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_events_venue_name_trgm
+    ON events USING GIN (venue_name gin_trgm_ops);
@@ -0,0 +1,11 @@
+-- Venue coordinates for GET /events/nearby.
+-- geohash is computed by the application from latitude/longitude; "C" collation keeps
+-- byte order so a geohash prefix is a contiguous btree range.
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION CHECK (latitude BETWEEN -90 AND 90),
+    ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION CHECK (longitude BETWEEN -180 AND 180),
+    ADD COLUMN IF NOT EXISTS geohash VARCHAR(12) COLLATE "C";
+
+CREATE INDEX IF NOT EXISTS idx_events_geohash ON events(geohash) WHERE geohash IS NOT NULL;
+
+COMMENT ON COLUMN events.geohash IS 'Base32 geohash of (latitude, longitude) at 12 characters, NULL when not geocoded';
@@ -0,0 +1,107 @@
+package com.anok;
+
+import com.anok.dto.EventRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base for tests that run the application against a real PostgreSQL.
+ * One container is started for the whole test run and migrated by Flyway on context
+ * startup; the seeded demo user owns the events tests create. Skipped without Docker.
+ * The listing snapshot and cross-node invalidation are turned off so every read reaches
+ * the database and nothing listens on a connection outside the pool.
+ */
+@SpringBootTest(properties = {
+        "events.snapshot.enabled=false",
+        "cache.invalidation.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    protected static final String DEMO_USER_EMAIL = "demo@anok.com";
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        String url = POSTGRES.getJdbcUrl();
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    /**
+     * Hibernate statistics, enabled by {@code hibernate.generate_statistics}; clear them
+     * before the code under measurement runs.
+     */
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Remove every event, including the seeded examples, and evict the second-level cache,
+     * so a test sees only the events it creates.
+     */
+    protected void deleteAllEvents() {
+        jdbcTemplate.execute("TRUNCATE events CASCADE");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /**
+     * A valid request for an event next year with the given number of genres and performers.
+     */
+    protected static EventRequest eventRequest(String title, int genres, int performers) {
+        EventRequest request = new EventRequest();
+        request.setTitle(title);
+        request.setEventDate(LocalDate.now().plusYears(1));
+        request.setStartTime(LocalTime.of(20, 0));
+        request.setEventLengthHours(3);
+        request.setLive(true);
+        request.setVenueName("The Underground");
+        request.setVenueAddress("123 Main Street");
+        request.setAbout("Test event");
+        request.setCapacity(100);
+        request.setAllAges(true);
+        request.setAlcohol(false);
+        request.setLatitude(40.0);
+        request.setLongitude(-105.0);
+
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < genres; i++) {
+            labels.add("Genre " + i);
+        }
+        request.setGenres(labels);
+
+        List<EventRequest.PerformerRequest> lineup = new ArrayList<>();
+        for (int i = 0; i < performers; i++) {
+            EventRequest.PerformerRequest performer = new EventRequest.PerformerRequest();
+            performer.setPerformerName(title + " performer " + i);
+            performer.setGenre1("Rock");
+            lineup.add(performer);
+        }
+        request.setPerformers(lineup);
+        return request;
+    }
+}
@@ -0,0 +1,129 @@
+package com.anok.security;
+
+import com.anok.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    /**
+     * Slow enough that no token comes back while a test runs.
+     */
+    private static final double NO_REFILL = 0.0001;
+
+    @Test
+    void rejectsOnceTheEmailBucketIsEmpty() {
+        LoginThrottle throttle = new LoginThrottle(64, 1024, 100, NO_REFILL, 3, NO_REFILL, 30, 1_000_000);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("10.0.0." + i, "user@example.com");
+        }
+
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.9", "user@example.com"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isPositive());
+        assertThatCode(() -> throttle.acquire("10.0.0.9", "other@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectedAttemptDoesNotDrainTheOtherBucket() {
+        // One stripe, so both buckets of every attempt share a lock
+        LoginThrottle throttle = new LoginThrottle(1, 1024, 2, NO_REFILL, 1, NO_REFILL, 30, 1_000_000);
+
+        throttle.acquire("10.0.0.1", "a@example.com");
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.2", "a@example.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        // 10.0.0.2 still holds both of its tokens
+        throttle.acquire("10.0.0.2", "b@example.com");
+        throttle.acquire("10.0.0.2", "c@example.com");
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.2", "d@example.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        // One token per 10 ms
+        LoginThrottle throttle = new LoginThrottle(64, 1024, 1, 6000, 100, NO_REFILL, 30, 1_000_000);
+
+        throttle.acquire("10.0.0.1", "a@example.com");
+        assertThatThrownBy(() -> throttle.acquire("10.0.0.1", "b@example.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        Thread.sleep(50);
+        assertThatCode(() -> throttle.acquire("10.0.0.1", "c@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void concurrentAttemptsNeverOverdrawABucket() throws Exception {
+        LoginThrottle throttle = new LoginThrottle(8, 1024, 1000, NO_REFILL, 50, NO_REFILL, 30, 1_000_000);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 25; i++) {
+                        try {
+                            throttle.acquire("10.0." + thread + "." + i, "shared@example.com");
+                            admitted.incrementAndGet();
+                        } catch (TooManyRequestsException e) {
+                            // expected once the email bucket is empty
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(admitted).hasValue(50);
+    }
+
+    @Test
+    void countsFailuresUntilCleared() {
+        LoginThrottle throttle = new LoginThrottle(64, 1024, 20, 20, 10, 5, 30, 1_000_000);
+
+        assertThat(throttle.recordFailure("user@example.com")).isEqualTo(1);
+        assertThat(throttle.recordFailure("user@example.com")).isEqualTo(2);
+        assertThat(throttle.recordFailure("other@example.com")).isEqualTo(1);
+
+        throttle.clearFailures("user@example.com");
+
+        assertThat(throttle.recordFailure("user@example.com")).isEqualTo(1);
+    }
+
+    @Test
+    void failuresForOtherEmailsDoNotEvictACounter() {
+        // Ten times the per-stripe key limit, all in one stripe
+        LoginThrottle throttle = new LoginThrottle(1, 1024, 20, 20, 10, 5, 30, 1_000_000);
+        throttle.recordFailure("victim@example.com");
+        throttle.recordFailure("victim@example.com");
+
+        for (int i = 0; i < 10_000; i++) {
+            throttle.recordFailure("spray" + i + "@example.com");
+        }
+
+        assertThat(throttle.recordFailure("victim@example.com")).isEqualTo(3);
+    }
+}
@@ -0,0 +1,140 @@
+package com.anok.service;
+
+import com.anok.exception.ValidationException;
+import com.anok.model.Event;
+import com.anok.model.EventGenre;
+import com.anok.model.EventPerformer;
+import com.anok.repository.EventGenreRepository;
+import com.anok.repository.EventPerformerRepository;
+import com.anok.repository.projection.TermCount;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AutocompleteServiceTest {
+
+    private EventGenreRepository eventGenreRepository;
+    private EventPerformerRepository eventPerformerRepository;
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        eventGenreRepository = mock(EventGenreRepository.class);
+        eventPerformerRepository = mock(EventPerformerRepository.class);
+        when(eventGenreRepository.countLabels()).thenReturn(List.of(new TermCount("Rock", 2)));
+        when(eventPerformerRepository.countPerformerNames()).thenReturn(List.of(new TermCount("Rock Revolution", 1)));
+        when(eventPerformerRepository.countGenre1()).thenReturn(List.of(new TermCount("Rock", 1)));
+        when(eventPerformerRepository.countGenre2()).thenReturn(List.of(new TermCount("Reggae", 1)));
+        autocompleteService = new AutocompleteService(eventGenreRepository, eventPerformerRepository);
+    }
+
+    @Test
+    void combinesGenreSources() {
+        autocompleteService.load();
+
+        assertThat(suggest(AutocompleteService.GENRE, "r", null)).containsExactly(
+                "Rock=3",
+                "Reggae=1");
+    }
+
+    @Test
+    void addedEventsAreCountedImmediately() {
+        autocompleteService.load();
+
+        autocompleteService.addEvents(List.of(event("Rock Revolution", "Rock"), event("Roots Manuva", "Reggae")));
+
+        assertThat(suggest(AutocompleteService.PERFORMER, "ro", null)).containsExactly(
+                "Rock Revolution=2",
+                "Roots Manuva=1");
+        assertThat(suggest(AutocompleteService.GENRE, "r", null)).containsExactly(
+                "Rock=4",
+                "Reggae=2");
+    }
+
+    @Test
+    void addedCountsSurviveTheNotificationRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AutocompleteService otherNode = new AutocompleteService(eventGenreRepository, eventPerformerRepository);
+        otherNode.load();
+
+        AutocompleteService.Delta added = autocompleteService.addEvents(
+                List.of(event("Rock Revolution", "Rock"), event("Rock Revolution", "Reggae")));
+        otherNode.add(objectMapper.readValue(objectMapper.writeValueAsString(added), AutocompleteService.Delta.class));
+
+        assertThat(suggest(otherNode, AutocompleteService.PERFORMER, "rock", null))
+                .containsExactly("Rock Revolution=3");
+        assertThat(suggest(otherNode, AutocompleteService.GENRE, "r", null))
+                .containsExactly("Rock=4", "Reggae=2");
+    }
+
+    @Test
+    void eventsAddedWhileLoadingAreKept() {
+        // An event created after the counts were read, but before the new indexes are swapped in
+        when(eventPerformerRepository.countGenre2()).thenAnswer(invocation -> {
+            autocompleteService.addEvents(List.of(event("Late Arrival", "Lounge")));
+            return List.of(new TermCount("Reggae", 1));
+        });
+
+        autocompleteService.load();
+
+        assertThat(suggest(AutocompleteService.PERFORMER, "late", null))
+                .containsExactly("Late Arrival=1");
+        assertThat(suggest(AutocompleteService.GENRE, "lou", null))
+                .containsExactly("Lounge=1");
+    }
+
+    @Test
+    void reloadReplacesCounts() {
+        autocompleteService.load();
+        autocompleteService.addEvents(List.of(event("Rock Revolution", "Rock")));
+        when(eventPerformerRepository.countPerformerNames()).thenReturn(List.of(new TermCount("Rock Revolution", 5)));
+
+        autocompleteService.load();
+
+        assertThat(suggest(AutocompleteService.PERFORMER, "rock", null))
+                .containsExactly("Rock Revolution=5");
+    }
+
+    @Test
+    void validatesArguments() {
+        assertThatThrownBy(() -> autocompleteService.suggest("venue", "a", null))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> autocompleteService.suggest(AutocompleteService.GENRE, " ", null))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> autocompleteService.suggest(AutocompleteService.GENRE, "a".repeat(101), null))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> autocompleteService.suggest(AutocompleteService.GENRE, "a", 0))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private List<String> suggest(String type, String prefix, Integer limit) {
+        return suggest(autocompleteService, type, prefix, limit);
+    }
+
+    private static List<String> suggest(AutocompleteService service, String type, String prefix, Integer limit) {
+        return service.suggest(type, prefix, limit).stream()
+                .map(suggestion -> suggestion.getValue() + "=" + suggestion.getCount())
+                .collect(Collectors.toList());
+    }
+
+    private static Event event(String performerName, String genreLabel) {
+        Event event = new Event();
+        EventGenre genre = new EventGenre();
+        genre.setEvent(event);
+        genre.setLabel(genreLabel);
+        event.getGenres().add(genre);
+        EventPerformer performer = new EventPerformer();
+        performer.setEvent(event);
+        performer.setPerformerName(performerName);
+        event.getPerformers().add(performer);
+        return event;
+    }
+}
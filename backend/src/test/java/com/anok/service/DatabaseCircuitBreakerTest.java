@@ -0,0 +1,132 @@
+package com.anok.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseCircuitBreakerTest {
+
+    private static final RuntimeException DATABASE_ERROR = new QueryTimeoutException("timeout");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DatabaseCircuitBreaker breaker;
+
+    @AfterEach
+    void tearDown() {
+        breaker.close();
+    }
+
+    @Test
+    void opensOnceTheFailureRateIsReached() {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 10, 4, 0.5, 1000, 60_000);
+
+        succeed();
+        fail(DATABASE_ERROR);
+        succeed();
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+
+        fail(DATABASE_ERROR);
+
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+        assertThat(breaker.acquire()).isEqualTo(DatabaseCircuitBreaker.Permit.DENIED);
+        assertThat(meterRegistry.get("events.circuit-breaker.state").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void staysClosedBelowTheMinimumNumberOfCalls() {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 10, 4, 0.5, 1000, 60_000);
+
+        fail(DATABASE_ERROR);
+        fail(DATABASE_ERROR);
+        fail(DATABASE_ERROR);
+
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void countsSlowCallsButNotRequestErrors() {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 2, 2, 1.0, 100, 60_000);
+
+        fail(new IllegalArgumentException("bad request"));
+        fail(new IllegalArgumentException("bad request"));
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+
+        breaker.record(breaker.acquire(), TimeUnit.MILLISECONDS.toNanos(200), null);
+        breaker.record(breaker.acquire(), TimeUnit.MILLISECONDS.toNanos(200), null);
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 4, 4, 0.5, 1000, 60_000);
+
+        fail(DATABASE_ERROR);
+        succeed();
+        succeed();
+        succeed();
+        // Pushes the failure out of the window
+        succeed();
+        fail(DATABASE_ERROR);
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+
+        fail(DATABASE_ERROR);
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void letsOneProbeThroughAfterTheOpenPeriod() throws InterruptedException {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 1, 1, 1.0, 1000, 10);
+        fail(DATABASE_ERROR);
+        assertThat(breaker.acquire()).isEqualTo(DatabaseCircuitBreaker.Permit.DENIED);
+
+        Thread.sleep(20);
+        DatabaseCircuitBreaker.Permit probe = breaker.acquire();
+
+        assertThat(probe).isEqualTo(DatabaseCircuitBreaker.Permit.PROBE);
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.acquire()).isEqualTo(DatabaseCircuitBreaker.Permit.DENIED);
+
+        breaker.record(probe, 0, null);
+
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+        assertThat(breaker.acquire()).isEqualTo(DatabaseCircuitBreaker.Permit.CALL);
+    }
+
+    @Test
+    void failedProbeReopens() throws InterruptedException {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 1, 1, 1.0, 1000, 10);
+        fail(DATABASE_ERROR);
+        Thread.sleep(20);
+
+        breaker.record(breaker.acquire(), 0, DATABASE_ERROR);
+
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+        assertThat(breaker.acquire()).isEqualTo(DatabaseCircuitBreaker.Permit.DENIED);
+    }
+
+    @Test
+    void callsPermittedBeforeOpeningAreIgnored() {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 2, 2, 1.0, 1000, 60_000);
+        DatabaseCircuitBreaker.Permit early = breaker.acquire();
+        fail(DATABASE_ERROR);
+        fail(DATABASE_ERROR);
+
+        breaker.record(early, 0, null);
+
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+    }
+
+    private void succeed() {
+        breaker.record(breaker.acquire(), 0, null);
+    }
+
+    private void fail(RuntimeException error) {
+        breaker.record(breaker.acquire(), 0, error);
+    }
+}
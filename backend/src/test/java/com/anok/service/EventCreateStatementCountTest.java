@@ -0,0 +1,37 @@
+package com.anok.service;
+
+import com.anok.PostgresIntegrationTest;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * createEvent sends an event's genre and performer inserts as one JDBC batch per table,
+ * so the number of statements does not grow with the number of children.
+ */
+class EventCreateStatementCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Test
+    void childInsertsAreBatched() {
+        // Warm the owner lookup so both measurements see the same caches
+        eventService.createEvent(eventRequest("Warm-up", 1, 1), DEMO_USER_EMAIL);
+        Statistics statistics = statistics();
+
+        statistics.clear();
+        eventService.createEvent(eventRequest("Small", 1, 1), DEMO_USER_EMAIL);
+        long small = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        eventService.createEvent(eventRequest("Large", 20, 20), DEMO_USER_EMAIL);
+        long large = statistics.getPrepareStatementCount();
+        long inserted = statistics.getEntityInsertCount();
+
+        assertThat(inserted).isEqualTo(41);
+        assertThat(large).isEqualTo(small);
+    }
+}
@@ -0,0 +1,70 @@
+package com.anok.service;
+
+import com.anok.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCursorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 7, 15, 20, 0);
+
+    @Test
+    void decodesWhatItEncodes() {
+        EventCursor cursor = new EventCursor(START.withNano(123_000_000), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(EventCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String noSeparator = encode("2030-07-15T20:00");
+        String badDate = encode("yesterday|" + UUID.randomUUID());
+        String badId = encode("2030-07-15T20:00|not-a-uuid");
+
+        for (String token : new String[]{"!!!", noSeparator, badDate, badId}) {
+            assertThatThrownBy(() -> EventCursor.decode(token))
+                    .isInstanceOf(ValidationException.class)
+                    .hasMessageContaining("cursor");
+        }
+    }
+
+    @Test
+    void ordersByTimeThenId() {
+        EventCursor cursor = new EventCursor(START, UUID.fromString("00000000-0000-0000-0000-000000000002"));
+
+        assertThat(cursor.compareTo(START.plusMinutes(1), EventCursor.MIN_ID)).isNegative();
+        assertThat(cursor.compareTo(START.minusMinutes(1), cursor.id())).isPositive();
+        assertThat(cursor.compareTo(START, UUID.fromString("00000000-0000-0000-0000-000000000003"))).isNegative();
+        assertThat(cursor.compareTo(START, cursor.id())).isZero();
+        assertThat(cursor.compareTo(START, EventCursor.MIN_ID)).isPositive();
+    }
+
+    @Test
+    void comparesIdsAsUnsignedBytesLikePostgres() {
+        UUID high = UUID.fromString("80000000-0000-0000-0000-000000000000");
+        UUID low = UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff");
+        EventCursor cursor = new EventCursor(START, high);
+
+        // UUID.compareTo is signed and would put `high` first
+        assertThat(high.compareTo(low)).isNegative();
+        assertThat(cursor.compareTo(START, low)).isPositive();
+
+        UUID lowBitsHigh = UUID.fromString("00000000-0000-0000-8000-000000000000");
+        UUID lowBitsLow = UUID.fromString("00000000-0000-0000-7fff-ffffffffffff");
+        assertThat(new EventCursor(START, lowBitsHigh).compareTo(START, lowBitsLow)).isPositive();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package com.anok.service;
+
+import com.anok.repository.projection.EventVersion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventETagsTest {
+
+    private static final UUID ID = UUID.fromString("b0000000-0000-0000-0000-000000000001");
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Test
+    void eventTagIsQuotedAndStable() {
+        String tag = EventETags.forEvent(ID, UPDATED, 7);
+
+        assertThat(tag).startsWith("\"").endsWith("\"");
+        assertThat(EventETags.forEvent(ID, UPDATED, 7)).isEqualTo(tag);
+    }
+
+    @Test
+    void eventTagChangesWithUpdateAndUrlEpoch() {
+        String tag = EventETags.forEvent(ID, UPDATED, 7);
+
+        assertThat(EventETags.forEvent(ID, UPDATED.plusNanos(1000), 7)).isNotEqualTo(tag);
+        assertThat(EventETags.forEvent(ID, UPDATED, 8)).isNotEqualTo(tag);
+        assertThat(EventETags.forEvent(UUID.randomUUID(), UPDATED, 7)).isNotEqualTo(tag);
+    }
+
+    @Test
+    void pageTagDependsOnMembersOrderAndHasMore() {
+        EventVersion first = version(UUID.randomUUID(), UPDATED);
+        EventVersion second = version(UUID.randomUUID(), UPDATED);
+        String tag = EventETags.forPage(List.of(first, second), true, 7);
+
+        assertThat(EventETags.forPage(List.of(first, second), true, 7)).isEqualTo(tag);
+        assertThat(EventETags.forPage(List.of(second, first), true, 7)).isNotEqualTo(tag);
+        assertThat(EventETags.forPage(List.of(first, second), false, 7)).isNotEqualTo(tag);
+        assertThat(EventETags.forPage(List.of(first), true, 7)).isNotEqualTo(tag);
+        assertThat(EventETags.forPage(List.of(first, version(second.getId(), UPDATED.plusSeconds(1))), true, 7))
+                .isNotEqualTo(tag);
+        assertThat(EventETags.forPage(List.of(first, second), true, 8)).isNotEqualTo(tag);
+    }
+
+    @Test
+    void pageAndEventTagsNeverCollide() {
+        assertThat(EventETags.forPage(List.of(version(ID, UPDATED)), false, 7))
+                .isNotEqualTo(EventETags.forEvent(ID, UPDATED, 7));
+    }
+
+    @Test
+    void matchesUsesWeakComparisonAndLists() {
+        String tag = EventETags.forEvent(ID, UPDATED, 7);
+
+        assertThat(EventETags.matches(tag, tag)).isTrue();
+        assertThat(EventETags.matches("W/" + tag, tag)).isTrue();
+        assertThat(EventETags.matches("\"other\", " + tag, tag)).isTrue();
+        assertThat(EventETags.matches("*", tag)).isTrue();
+        assertThat(EventETags.matches("\"other\"", tag)).isFalse();
+        assertThat(EventETags.matches(tag.substring(1, tag.length() - 1), tag)).isFalse();
+        assertThat(EventETags.matches(null, tag)).isFalse();
+        assertThat(EventETags.matches(" ", tag)).isFalse();
+    }
+
+    private static EventVersion version(UUID id, LocalDateTime updatedAt) {
+        return new EventVersion() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
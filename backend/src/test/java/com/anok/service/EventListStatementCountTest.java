@@ -0,0 +1,94 @@
+package com.anok.service;
+
+import com.anok.PostgresIntegrationTest;
+import com.anok.dto.EventPageResponse;
+import com.anok.dto.EventRequest;
+import com.anok.dto.EventResponse;
+import com.anok.repository.EventFilter;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing reads load genres and performers with one IN (...) query each, so the number
+ * of statements per page is fixed and no genres x performers product is returned.
+ * Every test starts and ends with no events, so the page holds exactly the ones it creates.
+ */
+class EventListStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int GENRES = 4;
+    private static final int PERFORMERS = 3;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventViewLoader eventViewLoader;
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createEvents() {
+        deleteAllEvents();
+        for (int i = 0; i < 10; i++) {
+            // One day apart, so the listing order is the creation order
+            EventRequest request = eventRequest("Listing " + i, GENRES, PERFORMERS);
+            request.setEventDate(request.getEventDate().plusDays(i));
+            ids.add(eventService.createEvent(request, DEMO_USER_EMAIL).getId());
+        }
+    }
+
+    @AfterEach
+    void deleteEvents() {
+        deleteAllEvents();
+    }
+
+    @Test
+    void listViewsUseThreeStatementsRegardlessOfPageSize() {
+        Statistics statistics = statistics();
+
+        statistics.clear();
+        List<EventResponse> one = eventViewLoader.loadListViews(ids.subList(0, 1));
+        long forOne = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<EventResponse> all = eventViewLoader.loadListViews(ids);
+        long forAll = statistics.getPrepareStatementCount();
+
+        assertThat(one).hasSize(1);
+        assertThat(all).extracting(EventResponse::getId).containsExactlyElementsOf(ids);
+        // Event rows, genres, performers
+        assertThat(forOne).isEqualTo(3);
+        assertThat(forAll).isEqualTo(3);
+    }
+
+    @Test
+    void listPageUsesFourStatementsAndNoDuplicateChildren() {
+        Statistics statistics = statistics();
+
+        statistics.clear();
+        EventPageResponse page = eventService.listUpcomingEvents(null, 100, EventFilter.NONE, null).body();
+
+        // Page versions, then event rows, genres and performers
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(page.getItems()).extracting(EventResponse::getId).containsExactlyElementsOf(ids);
+        assertThat(page.getNext()).isNull();
+        for (int i = 0; i < ids.size(); i++) {
+            EventResponse event = page.getItems().get(i);
+            assertThat(event.getTitle()).isEqualTo("Listing " + i);
+            assertThat(event.getGenres()).containsExactly("Genre 0", "Genre 1", "Genre 2", "Genre 3");
+            // Performers created in one flush may share a created_at, so their order is not fixed
+            assertThat(event.getPerformers()).extracting(EventResponse.PerformerResponse::getPerformerName)
+                    .containsExactlyInAnyOrder("Listing " + i + " performer 0", "Listing " + i + " performer 1",
+                            "Listing " + i + " performer 2");
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.anok.service;
+
+import com.anok.PostgresIntegrationTest;
+import com.anok.dto.EventRequest;
+import com.anok.model.Event;
+import com.anok.model.User;
+import com.anok.repository.EventCopyWriter;
+import com.anok.repository.EventFilter;
+import com.anok.repository.EventRepository;
+import com.anok.repository.UserRepository;
+import com.anok.repository.projection.EventDistance;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Nearby search over a seeded catalog spread across the continental US, checked against a
+ * brute-force haversine scan of every event. Also checks that the geohash ranges are
+ * answered from idx_events_geohash rather than a scan of all upcoming events, and logs
+ * the query times.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventNearbySearchTest extends PostgresIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventNearbySearchTest.class);
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int CENTERS = 20;
+    private static final double[] RADII_KM = {1, 10, 50, 200, 500};
+
+    private static final double MIN_LAT = 25;
+    private static final double MAX_LAT = 49;
+    private static final double MIN_LNG = -125;
+    private static final double MAX_LNG = -67;
+
+    /**
+     * Java and PostgreSQL may round a distance differently in the last bits, so events
+     * this close to the radius are left out of the comparison.
+     */
+    private static final double BOUNDARY_KM = 1e-6;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCopyWriter eventCopyWriter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<UUID, GeoPoint> catalog = new HashMap<>();
+
+    @BeforeAll
+    void seedCatalog() {
+        deleteAllEvents();
+        User owner = userRepository.findByEmailNormalized(DEMO_USER_EMAIL).orElseThrow();
+        Random random = new Random(20);
+        List<Event> batch = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            EventRequest request = eventRequest("Nearby " + i, 1, 1);
+            request.setLatitude(between(random, MIN_LAT, MAX_LAT));
+            request.setLongitude(between(random, MIN_LNG, MAX_LNG));
+            batch.add(eventService.toEntity(request, owner));
+            if (batch.size() == BATCH_SIZE) {
+                copy(batch);
+            }
+        }
+        copy(batch);
+        jdbcTemplate.execute("ANALYZE events");
+    }
+
+    @AfterAll
+    void deleteCatalog() {
+        deleteAllEvents();
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(20);
+        for (double radiusKm : RADII_KM) {
+            long totalNanos = 0;
+            long totalHits = 0;
+            for (int i = 0; i < CENTERS; i++) {
+                GeoPoint center = new GeoPoint(between(random, MIN_LAT, MAX_LAT), between(random, MIN_LNG, MAX_LNG));
+
+                long start = System.nanoTime();
+                List<EventDistance> hits = findNearby(center, radiusKm);
+                totalNanos += System.nanoTime() - start;
+                totalHits += hits.size();
+
+                Set<UUID> expected = bruteForce(center, radiusKm);
+                Set<UUID> found = hits.stream()
+                        .map(EventDistance::id)
+                        .filter(id -> !nearBoundary(catalog.get(id), center, radiusKm))
+                        .collect(Collectors.toSet());
+                assertThat(found).as("events within %s km of %s", radiusKm, center)
+                        .isEqualTo(expected);
+                for (EventDistance hit : hits) {
+                    assertThat(hit.distanceKm())
+                            .isCloseTo(distanceKm(center, catalog.get(hit.id())), within(BOUNDARY_KM));
+                }
+                assertThat(hits).extracting(EventDistance::distanceKm).isSorted();
+            }
+            log.info("findNearby over {} events, radius {} km: {} hits per query, {} ms per query",
+                    CATALOG_SIZE, radiusKm, totalHits / CENTERS,
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos / CENTERS));
+        }
+    }
+
+    @Test
+    void geohashRangesUseTheGeohashIndex() {
+        GeoPoint center = new GeoPoint(40.0, -105.0);
+        Set<String> prefixes = Geohash.cover(center, 10);
+        assertThat(prefixes).isNotEmpty();
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder ranges = new StringBuilder();
+        for (String prefix : prefixes) {
+            if (!args.isEmpty()) {
+                ranges.append(" OR ");
+            }
+            // Rendered like EventFilterRepositoryImpl.findNearby
+            ranges.append("(e.geohash >= ? AND e.geohash < ?)");
+            args.add(prefix);
+            args.add(prefix + "~");
+        }
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT e.id FROM events e WHERE e.event_datetime > now() " +
+                        "AND e.geohash IS NOT NULL AND (" + ranges + ")",
+                String.class, args.toArray()));
+
+        assertThat(plan).contains("idx_events_geohash");
+    }
+
+    @Test
+    void nearbyQueryScansTheGeohashIndex() {
+        GeoPoint center = new GeoPoint(40.0, -105.0);
+
+        // Index scans counted so far in this transaction, on the connection the query used
+        Long scans = new TransactionTemplate(transactionManager).execute(status -> {
+            findNearby(center, 10);
+            return jdbcTemplate.queryForObject(
+                    "SELECT pg_stat_get_xact_numscans('idx_events_geohash'::regclass)", Long.class);
+        });
+
+        assertThat(scans).isPositive();
+    }
+
+    private List<EventDistance> findNearby(GeoPoint center, double radiusKm) {
+        return eventRepository.findNearby(EventFilter.NONE, Geohash.cover(center, radiusKm),
+                center.latitude(), center.longitude(), radiusKm, LocalDateTime.now(),
+                EventDistanceCursor.FIRST.distanceKm(), EventDistanceCursor.FIRST.id(), CATALOG_SIZE);
+    }
+
+    private Set<UUID> bruteForce(GeoPoint center, double radiusKm) {
+        return catalog.entrySet().stream()
+                .filter(entry -> distanceKm(center, entry.getValue()) <= radiusKm)
+                .filter(entry -> !nearBoundary(entry.getValue(), center, radiusKm))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private void copy(List<Event> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        eventCopyWriter.copy(batch);
+        for (Event event : batch) {
+            catalog.put(event.getId(), new GeoPoint(event.getLatitude(), event.getLongitude()));
+        }
+        batch.clear();
+    }
+
+    private static boolean nearBoundary(GeoPoint point, GeoPoint center, double radiusKm) {
+        return Math.abs(distanceKm(center, point) - radiusKm) < BOUNDARY_KM;
+    }
+
+    /**
+     * Same haversine formula and sphere as the repository query.
+     */
+    private static double distanceKm(GeoPoint from, GeoPoint to) {
+        double dLat = Math.toRadians(to.latitude() - from.latitude());
+        double dLng = Math.toRadians(to.longitude() - from.longitude());
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(from.latitude())) * Math.cos(Math.toRadians(to.latitude()))
+                * Math.pow(Math.sin(dLng / 2), 2);
+        return 2 * 6371.0088 * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double between(Random random, double min, double max) {
+        return min + random.nextDouble() * (max - min);
+    }
+}
@@ -0,0 +1,87 @@
+package com.anok.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeohashTest {
+
+    /**
+     * Earth radius used by the nearby query's haversine distance.
+     */
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    @Test
+    void encodesKnownPoint() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(57.64911, 10.40744, 5)).isEqualTo("u4pru");
+    }
+
+    @Test
+    void coverContainsEveryPointAtTheRadius() {
+        double[][] centers = {{0, 0}, {37.77, -122.42}, {-33.87, 151.21}, {60.17, 24.94}, {70, -179.95}, {0, 179.99}};
+        for (double[] center : centers) {
+            GeoPoint point = new GeoPoint(center[0], center[1]);
+            for (double radiusKm : new double[]{0.1, 1, 5, 25, 100, 500}) {
+                Set<String> cover = Geohash.cover(point, radiusKm);
+                for (int bearing = 0; bearing < 360; bearing += 5) {
+                    assertCovered(cover, destination(point, radiusKm, bearing));
+                    assertCovered(cover, destination(point, radiusKm / 2, bearing));
+                }
+            }
+        }
+    }
+
+    @Test
+    void coverContainsPointsAtTheRadiusFromRandomCenters() {
+        Random random = new Random(20);
+        for (int i = 0; i < 20_000; i++) {
+            GeoPoint center = new GeoPoint(random.nextDouble() * 160 - 80, random.nextDouble() * 360 - 180);
+            double radiusKm = Math.pow(10, random.nextDouble() * 3.7 - 1);
+            Set<String> cover = Geohash.cover(center, radiusKm);
+            for (int bearing = 0; bearing < 360; bearing += 90) {
+                assertCovered(cover, destination(center, radiusKm, bearing + random.nextDouble() * 0.2 - 0.1));
+            }
+        }
+    }
+
+    @Test
+    void coverUsesAtMostNineCellsAndShorterPrefixesForLargerRadii() {
+        GeoPoint center = new GeoPoint(40.0, -105.0);
+        Set<String> small = Geohash.cover(center, 1);
+        Set<String> large = Geohash.cover(center, 100);
+
+        assertThat(small).hasSizeBetween(1, 9);
+        assertThat(large).hasSizeBetween(1, 9);
+        assertThat(small.iterator().next().length()).isGreaterThan(large.iterator().next().length());
+    }
+
+    @Test
+    void coverIsEmptyWhenTheRadiusExceedsTheLargestCell() {
+        assertThat(Geohash.cover(new GeoPoint(0, 0), 6000)).isEmpty();
+    }
+
+    private static void assertCovered(Set<String> cover, GeoPoint point) {
+        String hash = Geohash.encode(point.latitude(), point.longitude(), Geohash.MAX_PRECISION);
+        assertThat(cover).as("cover of %s", point).anyMatch(hash::startsWith);
+    }
+
+    /**
+     * Point {@code distanceKm} along a great circle from {@code start} at {@code bearingDegrees}.
+     */
+    private static GeoPoint destination(GeoPoint start, double distanceKm, double bearingDegrees) {
+        double angle = distanceKm / EARTH_RADIUS_KM;
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(start.latitude());
+        double lng1 = Math.toRadians(start.longitude());
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angle)
+                + Math.cos(lat1) * Math.sin(angle) * Math.cos(bearing));
+        double lng2 = lng1 + Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(lat1),
+                Math.cos(angle) - Math.sin(lat1) * Math.sin(lat2));
+        double longitude = (Math.toDegrees(lng2) + 540) % 360 - 180;
+        return new GeoPoint(Math.toDegrees(lat2), longitude);
+    }
+}
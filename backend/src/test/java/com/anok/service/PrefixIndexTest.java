@@ -0,0 +1,74 @@
+package com.anok.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    @Test
+    void suggestsMostFrequentFirstUpToTheLimit() {
+        PrefixIndex index = PrefixIndex.of(Map.of("Rock", 5L, "Rockabilly", 9L, "Roots", 2L, "Jazz", 7L));
+
+        assertThat(index.suggest("ro", 2)).containsExactly(
+                new PrefixIndex.Suggestion("Rockabilly", 9),
+                new PrefixIndex.Suggestion("Rock", 5));
+        assertThat(index.suggest("ro", 10)).hasSize(3);
+        assertThat(index.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesIgnoringCaseAndRepeatedWhitespace() {
+        PrefixIndex index = PrefixIndex.of(Map.of("  The   Electric Waves ", 3L));
+
+        assertThat(index.suggest("THE ELEC", 10))
+                .containsExactly(new PrefixIndex.Suggestion("The Electric Waves", 3));
+        assertThat(index.suggest("the  electric", 10)).hasSize(1);
+    }
+
+    @Test
+    void breaksTiesAlphabetically() {
+        PrefixIndex index = PrefixIndex.of(Map.of("Band C", 1L, "Band A", 1L, "Band B", 1L));
+
+        assertThat(index.suggest("band", 2)).extracting(PrefixIndex.Suggestion::value)
+                .containsExactly("Band A", "Band B");
+    }
+
+    @Test
+    void ignoresBlankAndNullTerms() {
+        Map<String, Long> counts = new HashMap<>();
+        counts.put(null, 4L);
+        counts.put("   ", 4L);
+        counts.put("Indie", 1L);
+        PrefixIndex index = PrefixIndex.of(counts);
+
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsCountsPerSpellingAndShowsTheMostFrequent() {
+        PrefixIndex index = PrefixIndex.of(Map.of("Hip Hop", 3L, "hip hop", 5L));
+
+        assertThat(index.suggest("hip", 10)).containsExactly(new PrefixIndex.Suggestion("hip hop", 8));
+
+        index.add(Map.of("Hip Hop", 4L));
+
+        assertThat(index.suggest("hip", 10)).containsExactly(new PrefixIndex.Suggestion("Hip Hop", 12));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addUpdatesCountsInPlace() {
+        PrefixIndex index = PrefixIndex.of(Map.of("Rock", 5L, "Reggae", 4L));
+
+        index.add(Map.of("Reggae", 2L, "Rap", 1L));
+
+        assertThat(index.suggest("r", 10)).containsExactly(
+                new PrefixIndex.Suggestion("Reggae", 6),
+                new PrefixIndex.Suggestion("Rock", 5),
+                new PrefixIndex.Suggestion("Rap", 1));
+    }
+}
@@ -0,0 +1,156 @@
+package com.anok.service;
+
+import com.anok.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StaleReadCacheTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DatabaseCircuitBreaker breaker;
+    private StaleReadCache<String, String> cache;
+
+    @AfterEach
+    void tearDown() {
+        breaker.close();
+    }
+
+    @Test
+    void returnsFreshResponsesUnmarked() {
+        create(60_000);
+
+        Versioned<String> result = cache.read("key", null, tag -> new Versioned<>("body", ETAG));
+
+        assertThat(result.body()).isEqualTo("body");
+        assertThat(result.isStale()).isFalse();
+    }
+
+    @Test
+    void servesTheLastGoodResponseWhenTheDatabaseFails() {
+        create(60_000);
+        cache.read("key", null, tag -> new Versioned<>("body", ETAG));
+
+        Versioned<String> result = cache.read("key", null, failing());
+
+        assertThat(result.body()).isEqualTo("body");
+        assertThat(result.etag()).isEqualTo(ETAG);
+        assertThat(result.isStale()).isTrue();
+        assertThat(result.staleAge()).isGreaterThanOrEqualTo(Duration.ZERO);
+        assertThat(staleCount("error")).isEqualTo(1);
+    }
+
+    @Test
+    void answersNotModifiedFromStaleWhenTheClientTagMatches() {
+        create(60_000);
+        cache.read("key", null, tag -> new Versioned<>("body", ETAG));
+
+        Versioned<String> result = cache.read("key", ETAG, failing());
+
+        assertThat(result.isNotModified()).isTrue();
+        assertThat(result.isStale()).isTrue();
+    }
+
+    @Test
+    void rethrowsWhenNothingIsCachedOrTheErrorIsNotADatabaseFailure() {
+        create(60_000);
+        cache.read("key", null, tag -> new Versioned<>("body", ETAG));
+
+        assertThatThrownBy(() -> cache.read("key", null, tag -> {
+            throw new IllegalArgumentException("bad request");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.read("other", null, failing()))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void keepsTheRememberedBodyAfterANotModifiedLoad() {
+        create(60_000);
+        cache.read("key", null, tag -> new Versioned<>("body", ETAG));
+        cache.read("key", ETAG, tag -> Versioned.notModified(ETAG));
+
+        Versioned<String> result = cache.read("key", null, failing());
+
+        assertThat(result.body()).isEqualTo("body");
+    }
+
+    @Test
+    void skipsTheDatabaseWhileTheBreakerIsOpen() {
+        create(60_000);
+        cache.read("key", null, tag -> new Versioned<>("body", ETAG));
+        cache.read("key", null, failing());
+        assertThat(breaker.state()).isEqualTo(DatabaseCircuitBreaker.State.OPEN);
+
+        Versioned<String> result = cache.read("key", null, tag -> {
+            throw new AssertionError("database called while the breaker is open");
+        });
+
+        assertThat(result.isStale()).isTrue();
+        assertThat(staleCount("open")).isEqualTo(1);
+        assertThatThrownBy(() -> cache.read("other", null, tag -> new Versioned<>("body", ETAG)))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void probeRefreshesInTheBackgroundAndClosesTheBreaker() throws InterruptedException {
+        create(10);
+        cache.read("key", null, tag -> new Versioned<>("old", ETAG));
+        cache.read("key", null, failing());
+        Thread.sleep(20);
+
+        Versioned<String> result = cache.read("key", null, tag -> new Versioned<>("new", "\"v2\""));
+
+        assertThat(result.body()).isEqualTo("old");
+        assertThat(result.isStale()).isTrue();
+        awaitClosed();
+        awaitStaleBody("new");
+    }
+
+    /**
+     * Breaker that opens on the first failed call and stays open for {@code openMs}.
+     */
+    private void create(long openMs) {
+        breaker = new DatabaseCircuitBreaker(meterRegistry, 1, 1, 1.0, 1000, openMs);
+        cache = new StaleReadCache<>("test", breaker, 100, 60_000, meterRegistry);
+    }
+
+    private static Function<String, Versioned<String>> failing() {
+        return tag -> {
+            throw new DataAccessResourceFailureException("database down");
+        };
+    }
+
+    private double staleCount(String reason) {
+        return meterRegistry.get("test.stale").tag("reason", reason).counter().count();
+    }
+
+    private void awaitClosed() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (breaker.state() != DatabaseCircuitBreaker.State.CLOSED) {
+            assertThat(System.nanoTime()).as("probe finishing").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * The probe records its outcome before storing the response, so poll for the body.
+     */
+    private void awaitStaleBody(String body) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!body.equals(cache.read("key", null, failing()).body())) {
+            assertThat(System.nanoTime()).as("probe storing its response").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
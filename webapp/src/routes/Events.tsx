@@ -1,32 +1,74 @@
-import { useEffect, useState } from "react";
+import { FormEvent, useEffect, useState } from "react";
 import { motion } from "framer-motion";
 import { eventService } from "../services/eventService";
 import { Event } from "../types/event";
 import { format, parseISO } from "date-fns";
 import Navbar from "../components/NavBar";
 import { Link } from "react-router-dom";
-import { CalendarDays, MapPin, Users } from "lucide-react";
+import { CalendarDays, MapPin, Search, Users } from "lucide-react";
+
+// Stagger card animations within each loaded page rather than across the whole list
+const PAGE_ANIMATION_SIZE = 20;
 
 export default function Events() {
   const [events, setEvents] = useState<Event[]>([]);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState("");
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
+  const [searchInput, setSearchInput] = useState("");
+  // Query the current results belong to; empty for the plain upcoming listing
+  const [activeQuery, setActiveQuery] = useState("");
+
+  const fetchPage = (cursor?: string | null) =>
+    activeQuery
+      ? eventService.search(activeQuery, cursor)
+      : eventService.list(cursor);
 
   useEffect(() => {
     const loadEvents = async () => {
       setIsLoading(true);
       setError("");
       try {
-        const data = await eventService.list();
-        setEvents(data);
+        const page = await fetchPage();
+        setEvents(page.items);
+        setNextCursor(page.next ?? null);
       } catch (err) {
+        setEvents([]);
+        setNextCursor(null);
         setError(err instanceof Error ? err.message : "Failed to load events");
       } finally {
         setIsLoading(false);
       }
     };
     loadEvents();
-  }, []);
+  }, [activeQuery]);
+
+  const handleSearch = (e: FormEvent) => {
+    e.preventDefault();
+    setActiveQuery(searchInput.trim());
+  };
+
+  const clearSearch = () => {
+    setSearchInput("");
+    setActiveQuery("");
+  };
+
+  // Follow the keyset cursor from the previous page
+  const loadMore = async () => {
+    if (!nextCursor || isLoadingMore) return;
+    setIsLoadingMore(true);
+    setError("");
+    try {
+      const page = await fetchPage(nextCursor);
+      setEvents((current) => [...current, ...page.items]);
+      setNextCursor(page.next ?? null);
+    } catch (err) {
+      setError(err instanceof Error ? err.message : "Failed to load events");
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
 
 const formatDateTime = (event: Event) => {
   const dt = event.eventDateTime || `${event.eventDate}T${event.startTime}`;
@@ -78,6 +120,35 @@ const formatDateTime = (event: Event) => {
             </Link>
           </div>
 
+          <form onSubmit={handleSearch} className="flex flex-wrap items-center gap-3 mb-10">
+            <div className="flex items-center bg-[#2a2a34] px-4 py-2 rounded-lg flex-1 min-w-[16rem] shadow-md">
+              <Search size={18} className="text-[#b11226] mr-2" />
+              <input
+                type="text"
+                value={searchInput}
+                onChange={(e) => setSearchInput(e.target.value)}
+                placeholder='Search events, venues, performers (e.g. "jazz night" -tribute)'
+                maxLength={200}
+                className="bg-transparent outline-none w-full text-sm text-gray-200"
+              />
+            </div>
+            <button
+              type="submit"
+              className="bg-[#b11226] hover:bg-[#c61b31] transition px-5 py-2 rounded-lg font-semibold text-sm shadow-lg"
+            >
+              Search
+            </button>
+            {activeQuery && (
+              <button
+                type="button"
+                onClick={clearSearch}
+                className="text-sm text-gray-400 hover:text-white transition"
+              >
+                Clear
+              </button>
+            )}
+          </form>
+
           {isLoading && (
             <div className="text-center text-gray-400">Loading events...</div>
           )}
@@ -88,7 +159,9 @@ const formatDateTime = (event: Event) => {
 
           {!isLoading && events.length === 0 && !error && (
             <div className="text-center text-gray-400">
-              No events yet. Be the first to register one!
+              {activeQuery
+                ? `No upcoming events match "${activeQuery}".`
+                : "No events yet. Be the first to register one!"}
             </div>
           )}
 
@@ -98,7 +171,7 @@ const formatDateTime = (event: Event) => {
                 key={event.id}
                 initial={{ opacity: 0, y: 20 }}
                 animate={{ opacity: 1, y: 0 }}
-                transition={{ delay: index * 0.05 }}
+                transition={{ delay: (index % PAGE_ANIMATION_SIZE) * 0.05 }}
                 className="bg-gradient-to-br from-[#1a1a2e] via-[#171728] to-[#12121f] border border-[#b11226]/10 rounded-2xl p-6 flex flex-col gap-4 shadow-lg shadow-black/40"
               >
                 <div className="flex items-start justify-between gap-3">
@@ -202,6 +275,19 @@ const formatDateTime = (event: Event) => {
               </motion.article>
             ))}
           </div>
+
+          {!isLoading && nextCursor && (
+            <div className="flex justify-center mt-10">
+              <button
+                type="button"
+                onClick={loadMore}
+                disabled={isLoadingMore}
+                className="px-6 py-3 border border-[#b11226]/40 hover:bg-[#b11226]/20 disabled:opacity-50 rounded-xl text-white font-semibold transition-all"
+              >
+                {isLoadingMore ? "Loading..." : "Load more events"}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </>
@@ -1,9 +1,10 @@
 import { buildApiUrl } from "../config/env";
-import { CreateEventInput, Event } from "../types/event";
+import { CreateEventInput, Event, EventPage } from "../types/event";
 
 class EventService {
-  async list(): Promise<Event[]> {
-    const response = await fetch(buildApiUrl("/events"), {
+  async list(cursor?: string | null): Promise<EventPage> {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+    const response = await fetch(buildApiUrl(`/events${query}`), {
       method: "GET",
     });
 
@@ -14,6 +15,22 @@ class EventService {
     return response.json();
   }
 
+  async search(q: string, cursor?: string | null): Promise<EventPage> {
+    const params = new URLSearchParams({ q });
+    if (cursor) {
+      params.set("cursor", cursor);
+    }
+    const response = await fetch(buildApiUrl(`/events/search?${params}`), {
+      method: "GET",
+    });
+
+    if (!response.ok) {
+      throw new Error("Failed to search events");
+    }
+
+    return response.json();
+  }
+
   async create(payload: CreateEventInput): Promise<Event> {
     const response = await fetch(buildApiUrl("/events"), {
       method: "POST",
@@ -30,12 +30,19 @@ export interface Event {
   ageRestriction?: string;
   allAges: boolean;
   alcohol: boolean;
+  latitude?: number | null;
+  longitude?: number | null;
   genres?: string[] | null;
   performers: Performer[];
   ownerId?: string | null;      // ⬅️ FALTABA
   ownerName?: string | null;    // ⬅️ FALTABA
 }
 
+export interface EventPage {
+  items: Event[];
+  next?: string | null;
+}
+
 export interface CreateEventInput {
   flyerUrl: string;
   eventDate: string;